@@ -0,0 +1,347 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+
+// resolves SAN ("Nbd7", "exd8=Q+", "O-O-O") and long algebraic or UCI notation ("Ng1-f3", "e7e8q") by working
+// back from the destination square to the few pieces that can reach it, instead of scanning every legal move
+public final class AlgebraicNotation {
+
+    private AlgebraicNotation() {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    // Move.NULL_MOVE when the notation is malformed, names no move of the side to move or is ambiguous
+    public static Move resolve(final Board board, final CharSequence notation) {
+        int end = notation.length();
+        while (end > 0 && isSuffix(notation.charAt(end - 1))) {
+            end--;
+        }
+        if (end < 2) {
+            return Move.NULL_MOVE;
+        }
+        if (notation.charAt(0) == 'O' || notation.charAt(0) == '0') {
+            return legal(board, castle(board, end >= 5));
+        }
+
+        Piece.PieceType promotionType = null;
+        final Piece.PieceType lastType = promotionType(notation.charAt(end - 1));
+        if (lastType != null && end >= 3 && (notation.charAt(end - 2) == '=' || isRank(notation.charAt(end - 2)))) {
+            promotionType = lastType;
+            end -= notation.charAt(end - 2) == '=' ? 2 : 1;
+        }
+        if (end < 2 || !isFile(notation.charAt(end - 2)) || !isRank(notation.charAt(end - 1))) {
+            return Move.NULL_MOVE;
+        }
+        final int destination = coordinate(notation.charAt(end - 2), notation.charAt(end - 1));
+
+        Piece.PieceType pieceType = pieceType(notation.charAt(0));
+        int fromFile = -1;
+        int fromRank = -1;
+        for (int i = pieceType != null ? 1 : 0; i < end - 2; i++) {
+            final char c = notation.charAt(i);
+            if (isFile(c)) {
+                fromFile = c - 'a';
+            } else if (isRank(c)) {
+                fromRank = '8' - c;
+            } else if (c != 'x' && c != '-' && c != ':') {
+                return Move.NULL_MOVE;
+            }
+        }
+
+        // UCI names the origin square rather than the piece
+        if (pieceType == null && fromFile >= 0 && fromRank >= 0) {
+            final Piece origin = board.getTile(fromRank * BoardUtils.NUM_TILES_PER_ROW + fromFile).getPiece();
+            if (origin == null) {
+                return Move.NULL_MOVE;
+            }
+            pieceType = origin.getPieceType();
+        }
+        if (pieceType == null || pieceType == Piece.PieceType.PAWN) {
+            return legal(board, pawnMove(board, destination, fromFile, fromRank, promotionType));
+        }
+        if (promotionType != null) {
+            return Move.NULL_MOVE;
+        }
+        if (pieceType == Piece.PieceType.KING && fromFile >= 0 &&
+                Math.abs(fromFile - destination % BoardUtils.NUM_TILES_PER_ROW) == 2) {
+            return legal(board, castle(board, destination % BoardUtils.NUM_TILES_PER_ROW < fromFile));
+        }
+        return pieceMove(board, pieceType, destination, fromFile, fromRank);
+    }
+
+    public static String toSan(final Board board, final Move move) {
+        return toSan(board, move, move.execute());
+    }
+
+    // standard SAN of a legal move, given the board the move leads to
+    public static String toSan(final Board board, final Move move, final Board transitionBoard) {
+        final StringBuilder san = new StringBuilder(8);
+        final int origin = move.getCurrentCoordinate();
+        final int destination = move.getDestinationCoordinate();
+        final Piece movedPiece = move.getMovedPiece();
+        if (move.isCastlingMove()) {
+            san.append(move instanceof Move.QeenSideCastleMove ? "O-O-O" : "O-O");
+        } else if (movedPiece.getPieceType() == Piece.PieceType.PAWN) {
+            if (move.isAttack()) {
+                san.append((char) ('a' + origin % BoardUtils.NUM_TILES_PER_ROW)).append('x');
+            }
+            san.append(BoardUtils.getChessPositionAtAlgebraicCoordinate(destination));
+            if (move instanceof Move.PawnPromotionMove) {
+                san.append('=').append(((Move.PawnPromotionMove) move).getPromotionType());
+            }
+        } else {
+            san.append(movedPiece.getPieceType());
+            appendDisambiguation(board, move, san);
+            if (move.isAttack()) {
+                san.append('x');
+            }
+            san.append(BoardUtils.getChessPositionAtAlgebraicCoordinate(destination));
+        }
+        if (transitionBoard.currentPlayer().isInCheck()) {
+            san.append(transitionBoard.currentPlayer().isInCheckMate() ? '#' : '+');
+        }
+        return san.toString();
+    }
+
+    // file if that tells the twins apart, else rank, else both
+    private static void appendDisambiguation(final Board board, final Move move, final StringBuilder san) {
+        final Piece movedPiece = move.getMovedPiece();
+        final int origin = move.getCurrentCoordinate();
+        final Piece occupant = board.getTile(move.getDestinationCoordinate()).getPiece();
+        boolean ambiguous = false;
+        boolean sameFile = false;
+        boolean sameRank = false;
+        for (final Piece piece : board.currentPlayer().getActivePieces()) {
+            final int other = piece.getPiecePosition();
+            if (other == origin ||
+                    !isCandidate(board, piece, movedPiece.getPieceType(), move.getDestinationCoordinate(), -1, -1) ||
+                    !board.currentPlayer().makeMove(createMove(board, piece, move.getDestinationCoordinate(), occupant))
+                            .getMoveStatus().isDone()) {
+                continue;
+            }
+            ambiguous = true;
+            sameFile |= other % BoardUtils.NUM_TILES_PER_ROW == origin % BoardUtils.NUM_TILES_PER_ROW;
+            sameRank |= other / BoardUtils.NUM_TILES_PER_ROW == origin / BoardUtils.NUM_TILES_PER_ROW;
+        }
+        if (!ambiguous) {
+            return;
+        }
+        final String square = BoardUtils.getChessPositionAtAlgebraicCoordinate(origin);
+        if (!sameFile) {
+            san.append(square.charAt(0));
+        } else if (!sameRank) {
+            san.append(square.charAt(1));
+        } else {
+            san.append(square);
+        }
+    }
+
+    private static Move pieceMove(final Board board,
+                                  final Piece.PieceType pieceType,
+                                  final int destination,
+                                  final int fromFile,
+                                  final int fromRank) {
+        final Alliance alliance = board.currentPlayer().getAlliance();
+        final Piece occupant = board.getTile(destination).getPiece();
+        if (occupant != null && occupant.getPieceAlliance() == alliance) {
+            return Move.NULL_MOVE;
+        }
+
+        // SAN only disambiguates between legal moves, so pinned pieces drop out here
+        Move resolved = Move.NULL_MOVE;
+        for (final Piece piece : board.currentPlayer().getActivePieces()) {
+            if (!isCandidate(board, piece, pieceType, destination, fromFile, fromRank)) {
+                continue;
+            }
+            final Move move = createMove(board, piece, destination, occupant);
+            if (board.currentPlayer().makeMove(move).getMoveStatus().isDone()) {
+                if (resolved != Move.NULL_MOVE) {
+                    return Move.NULL_MOVE;
+                }
+                resolved = move;
+            }
+        }
+        return resolved;
+    }
+
+    private static Move pawnMove(final Board board,
+                                 final int destination,
+                                 final int fromFile,
+                                 final int fromRank,
+                                 final Piece.PieceType promotionType) {
+        final Alliance alliance = board.currentPlayer().getAlliance();
+        // one rank back towards the side to move
+        final int behind = destination - BoardUtils.NUM_TILES_PER_ROW * alliance.getDirection();
+        if (!BoardUtils.isValidTileCoordinate(behind)) {
+            return Move.NULL_MOVE;
+        }
+        final int destinationFile = destination % BoardUtils.NUM_TILES_PER_ROW;
+        final Piece occupant = board.getTile(destination).getPiece();
+
+        final Move move;
+        if (fromFile >= 0 && fromFile != destinationFile) {
+            if (Math.abs(fromFile - destinationFile) != 1) {
+                return Move.NULL_MOVE;
+            }
+            final Piece pawn = board.getTile(behind - destinationFile + fromFile).getPiece();
+            if (!isPawn(pawn, alliance)) {
+                return Move.NULL_MOVE;
+            }
+            if (occupant != null) {
+                if (occupant.getPieceAlliance() == alliance) {
+                    return Move.NULL_MOVE;
+                }
+                move = new Move.PawnAttackMove(board, pawn, destination, occupant);
+            } else {
+                final Pawn enPassantPawn = board.getEnPassantPawn();
+                if (enPassantPawn == null || enPassantPawn.getPiecePosition() != behind ||
+                        enPassantPawn.getPieceAlliance() == alliance) {
+                    return Move.NULL_MOVE;
+                }
+                move = new Move.PawnEnPassantAttackMove(board, pawn, destination, enPassantPawn);
+            }
+        } else {
+            if (occupant != null) {
+                return Move.NULL_MOVE;
+            }
+            final Piece pawn = board.getTile(behind).getPiece();
+            if (pawn == null) {
+                final int origin = behind - BoardUtils.NUM_TILES_PER_ROW * alliance.getDirection();
+                final Piece jumpingPawn = BoardUtils.isValidTileCoordinate(origin) ? board.getTile(origin).getPiece() : null;
+                if (!isPawn(jumpingPawn, alliance) || !jumpingPawn.isFirstMove() ||
+                        !(alliance.isWhite() ? BoardUtils.SECOND_RANK[origin] : BoardUtils.SEVENTH_RANK[origin])) {
+                    return Move.NULL_MOVE;
+                }
+                move = new Move.PawnJump(board, jumpingPawn, destination);
+            } else if (isPawn(pawn, alliance)) {
+                move = new Move.PawnMove(board, pawn, destination);
+            } else {
+                return Move.NULL_MOVE;
+            }
+        }
+
+        if (fromRank >= 0 && move.getCurrentCoordinate() / BoardUtils.NUM_TILES_PER_ROW != fromRank) {
+            return Move.NULL_MOVE;
+        }
+        if (alliance.isPawnPromotionSquare(destination)) {
+            return new Move.PawnPromotionMove(move, promotionType != null ? promotionType : Piece.PieceType.QUEEN);
+        }
+        return promotionType == null ? move : Move.NULL_MOVE;
+    }
+
+    private static Move castle(final Board board, final boolean queenSide) {
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            if (move.isCastlingMove() && (move instanceof Move.QeenSideCastleMove) == queenSide) {
+                return move;
+            }
+        }
+        return Move.NULL_MOVE;
+    }
+
+    // the side to move may actually play it, so neither pins nor checks are ignored
+    private static Move legal(final Board board, final Move move) {
+        return move != Move.NULL_MOVE && board.currentPlayer().makeMove(move).getMoveStatus().isDone() ? move : Move.NULL_MOVE;
+    }
+
+    private static Move createMove(final Board board, final Piece piece, final int destination, final Piece occupant) {
+        return occupant == null ? new Move.MajorMove(board, piece, destination) :
+                new Move.MajorAttackMove(board, piece, destination, occupant);
+    }
+
+    private static boolean isCandidate(final Board board,
+                                       final Piece piece,
+                                       final Piece.PieceType pieceType,
+                                       final int destination,
+                                       final int fromFile,
+                                       final int fromRank) {
+        final int origin = piece.getPiecePosition();
+        return piece.getPieceType() == pieceType &&
+                (fromFile < 0 || origin % BoardUtils.NUM_TILES_PER_ROW == fromFile) &&
+                (fromRank < 0 || origin / BoardUtils.NUM_TILES_PER_ROW == fromRank) &&
+                reaches(board, pieceType, origin, destination);
+    }
+
+    // whether the piece attacks the square on this board, ignoring pins
+    private static boolean reaches(final Board board, final Piece.PieceType pieceType, final int origin, final int destination) {
+        final int fileDelta = destination % BoardUtils.NUM_TILES_PER_ROW - origin % BoardUtils.NUM_TILES_PER_ROW;
+        final int rankDelta = destination / BoardUtils.NUM_TILES_PER_ROW - origin / BoardUtils.NUM_TILES_PER_ROW;
+        final boolean diagonal = fileDelta != 0 && Math.abs(fileDelta) == Math.abs(rankDelta);
+        final boolean straight = (fileDelta == 0) != (rankDelta == 0);
+        switch (pieceType) {
+            case KNIGHT:
+                return Math.abs(fileDelta * rankDelta) == 2;
+            case KING:
+                return origin != destination && Math.max(Math.abs(fileDelta), Math.abs(rankDelta)) == 1;
+            case BISHOP:
+                return diagonal && isPathClear(board, origin, destination, fileDelta, rankDelta);
+            case ROOK:
+                return straight && isPathClear(board, origin, destination, fileDelta, rankDelta);
+            case QUEEN:
+                return (diagonal || straight) && isPathClear(board, origin, destination, fileDelta, rankDelta);
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isPathClear(final Board board,
+                                       final int origin,
+                                       final int destination,
+                                       final int fileDelta,
+                                       final int rankDelta) {
+        final int step = Integer.signum(rankDelta) * BoardUtils.NUM_TILES_PER_ROW + Integer.signum(fileDelta);
+        for (int coordinate = origin + step; coordinate != destination; coordinate += step) {
+            if (board.getTile(coordinate).isTileOccupied()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPawn(final Piece piece, final Alliance alliance) {
+        return piece != null && piece.getPieceType() == Piece.PieceType.PAWN && piece.getPieceAlliance() == alliance;
+    }
+
+    private static int coordinate(final char file, final char rank) {
+        return ('8' - rank) * BoardUtils.NUM_TILES_PER_ROW + (file - 'a');
+    }
+
+    private static Piece.PieceType pieceType(final char c) {
+        switch (c) {
+            case 'K':
+                return Piece.PieceType.KING;
+            case 'Q':
+                return Piece.PieceType.QUEEN;
+            case 'R':
+                return Piece.PieceType.ROOK;
+            case 'B':
+                return Piece.PieceType.BISHOP;
+            case 'N':
+                return Piece.PieceType.KNIGHT;
+            case 'P':
+                return Piece.PieceType.PAWN;
+            default:
+                return null;
+        }
+    }
+
+    // SAN uses capitals, UCI lower case
+    private static Piece.PieceType promotionType(final char c) {
+        final Piece.PieceType pieceType = pieceType(Character.toUpperCase(c));
+        return pieceType == Piece.PieceType.KING || pieceType == Piece.PieceType.PAWN ? null : pieceType;
+    }
+
+    private static boolean isSuffix(final char c) {
+        return c == '+' || c == '#' || c == '!' || c == '?';
+    }
+
+    private static boolean isFile(final char c) {
+        return c >= 'a' && c <= 'h';
+    }
+
+    private static boolean isRank(final char c) {
+        return c >= '1' && c <= '8';
+    }
+
+}
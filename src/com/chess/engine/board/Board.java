@@ -22,6 +22,12 @@ public class Board {
     private final Player currentPlayer;
 
     private final Pawn enPassantPawn;
+    private final long zobristHash;
+    private final int gamePhase;
+    private final Move transitionMove;
+    private final int halfmoveClock;
+    private final int fullmoveNumber;
+    private final PositionHistory positionHistory;
 
     private Board(final Builder builder){
         this.gameBoard = createGameBoard(builder);
@@ -29,6 +35,12 @@ public class Board {
         this.blackPieces = calculateActivePieces(this.gameBoard, Alliance.BLACK);
         this.allPieces = Lists.newArrayList(Iterables.concat(whitePieces, blackPieces));
         this.enPassantPawn = builder.enPassantPawn;
+        this.zobristHash = ZobristHashing.calculateHash(this, builder.nextMoveMaker);
+        this.gamePhase = builder.gamePhase >= 0 ? builder.gamePhase : calculateGamePhase(this.allPieces);
+        this.transitionMove = builder.transitionMove;
+        this.halfmoveClock = builder.halfmoveClock;
+        this.fullmoveNumber = builder.fullmoveNumber;
+        this.positionHistory = builder.positionHistory;
 
         final Collection<Move> whiteStandardLegalMoves = calculateLegalMoves(this.whitePieces);
         final Collection<Move> blackStandardLegalMoves = calculateLegalMoves(this.blackPieces);
@@ -79,6 +91,72 @@ public class Board {
         return this.enPassantPawn;
     }
 
+    // a pawn that just jumped only changes the position when an enemy pawn beside it could take it in passing
+    public boolean canCaptureEnPassant(){
+        if (this.enPassantPawn == null) {
+            return false;
+        }
+        final int position = this.enPassantPawn.getPiecePosition();
+        final int file = position % BoardUtils.NUM_TILES_PER_ROW;
+        return (file > 0 && isEnemyPawn(position - 1)) ||
+               (file < BoardUtils.NUM_TILES_PER_ROW - 1 && isEnemyPawn(position + 1));
+    }
+
+    private boolean isEnemyPawn(final int coordinate){
+        final Piece piece = getTile(coordinate).getPiece();
+        return piece != null && piece.getPieceType() == Piece.PieceType.PAWN &&
+               piece.getPieceAlliance() != this.enPassantPawn.getPieceAlliance();
+    }
+
+    public long getZobristHash(){
+        return this.zobristHash;
+    }
+
+    public int getGamePhase(){
+        return this.gamePhase;
+    }
+
+    public Move getTransitionMove(){
+        return this.transitionMove;
+    }
+
+    // plies since the last capture or pawn move
+    public int getHalfmoveClock(){
+        return this.halfmoveClock;
+    }
+
+    // starts at 1 and goes up after every black move
+    public int getFullmoveNumber(){
+        return this.fullmoveNumber;
+    }
+
+    // a king and rook of one side still on their starting squares and never moved
+    public boolean hasCastlingRight(final int kingCoordinate, final int rookCoordinate){
+        final Tile kingTile = getTile(kingCoordinate);
+        final Tile rookTile = getTile(rookCoordinate);
+
+        return kingTile.isTileOccupied() && kingTile.getPiece().getPieceType().isKing() && kingTile.getPiece().isFirstMove() &&
+               rookTile.isTileOccupied() && rookTile.getPiece().getPieceType().isRook() && rookTile.getPiece().isFirstMove() &&
+               kingTile.getPiece().getPieceAlliance() == rookTile.getPiece().getPieceAlliance();
+    }
+
+    // earlier positions since the last irreversible move, the only ones this position can repeat
+    public PositionHistory getPositionHistory(){
+        return this.positionHistory;
+    }
+
+    public boolean isDrawByFiftyMoveRule(){
+        return this.halfmoveClock >= 100;
+    }
+
+    public boolean isDrawByRepetition(){
+        return this.positionHistory.count(this.zobristHash) >= 2;
+    }
+
+    public boolean isDraw(){
+        return isDrawByFiftyMoveRule() || isDrawByRepetition();
+    }
+
     public Collection<Piece> getWhitePieces(){
         return this.whitePieces;
     }
@@ -116,6 +194,16 @@ public class Board {
         return ImmutableList.copyOf(activePieces);
     }
 
+    private static int calculateGamePhase(final Collection<Piece> pieces) {
+        int gamePhase = 0;
+
+        for (final Piece piece : pieces) {
+            gamePhase += piece.getPieceType().getPhaseWeight();
+        }
+
+        return gamePhase;
+    }
+
     public Tile getTile(int tileCoordinate) {
         return gameBoard.get(tileCoordinate);
     }
@@ -183,9 +271,17 @@ public class Board {
         Map<Integer, Piece> boardConfig;
         Alliance nextMoveMaker;
         Pawn enPassantPawn;
+        int gamePhase;
+        Move transitionMove;
+        int halfmoveClock;
+        int fullmoveNumber;
+        PositionHistory positionHistory;
 
         public Builder() {
             this.boardConfig = new HashMap<>();
+            this.gamePhase = -1;
+            this.positionHistory = PositionHistory.EMPTY;
+            this.fullmoveNumber = 1;
         }
 
         public Builder setPiece(final Piece piece){
@@ -205,6 +301,31 @@ public class Board {
         public void setEnPassantPawn(Pawn movedPawn) {
             enPassantPawn = movedPawn;
         }
+
+        public Builder setGamePhase(final int gamePhase) {
+            this.gamePhase = gamePhase;
+            return this;
+        }
+
+        public Builder setMoveTransition(final Move transitionMove) {
+            this.transitionMove = transitionMove;
+            return this;
+        }
+
+        public Builder setHalfmoveClock(final int halfmoveClock) {
+            this.halfmoveClock = halfmoveClock;
+            return this;
+        }
+
+        public Builder setFullmoveNumber(final int fullmoveNumber) {
+            this.fullmoveNumber = fullmoveNumber;
+            return this;
+        }
+
+        public Builder setPositionHistory(final PositionHistory positionHistory) {
+            this.positionHistory = positionHistory;
+            return this;
+        }
     }
 
 }
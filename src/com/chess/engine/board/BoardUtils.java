@@ -30,6 +30,7 @@ public class BoardUtils {
 
     public static final int NUM_TILES = 64;
     public static final int NUM_TILES_PER_ROW = 8;
+    public static final int MAX_GAME_PHASE = 24;
 
     private BoardUtils(){
         throw new RuntimeException("You cannot initialize this class");
@@ -1,8 +1,11 @@
 package com.chess.engine.board;
 
 import com.chess.engine.board.Board.Builder;
+import com.chess.engine.pieces.Bishop;
+import com.chess.engine.pieces.Knight;
 import com.chess.engine.pieces.Pawn;
 import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Queen;
 import com.chess.engine.pieces.Rook;
 
 public abstract class Move {
@@ -82,6 +85,24 @@ public abstract class Move {
         return this.board;
     }
 
+    protected int calculateGamePhase() {
+        return isAttack() ? this.board.getGamePhase() - getAttackedPiece().getPieceType().getPhaseWeight()
+                          : this.board.getGamePhase();
+    }
+
+    // captures and pawn moves can never be undone, so they reset the clock and the repetition history
+    protected int calculateHalfmoveClock() {
+        return isAttack() || this.movedPiece.getPieceType() == Piece.PieceType.PAWN ? 0 : this.board.getHalfmoveClock() + 1;
+    }
+
+    protected PositionHistory calculatePositionHistory() {
+        return calculateHalfmoveClock() == 0 ? PositionHistory.EMPTY : this.board.getPositionHistory().push(this.board.getZobristHash());
+    }
+
+    protected int calculateFullmoveNumber() {
+        return this.board.currentPlayer().getAlliance().isBlack() ? this.board.getFullmoveNumber() + 1 : this.board.getFullmoveNumber();
+    }
+
     public Board execute() {
 
         final Builder builder = new Builder();
@@ -99,6 +120,11 @@ public abstract class Move {
         //move the moved piece
         builder.setPiece(this.movedPiece.movePiece(this));
         builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+        builder.setGamePhase(calculateGamePhase());
+        builder.setMoveTransition(this);
+        builder.setHalfmoveClock(calculateHalfmoveClock());
+        builder.setPositionHistory(calculatePositionHistory());
+        builder.setFullmoveNumber(calculateFullmoveNumber());
 
         return builder.build();
     }
@@ -255,6 +281,11 @@ public abstract class Move {
             }
             builder.setPiece(this.movedPiece.movePiece(this));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setGamePhase(calculateGamePhase());
+            builder.setMoveTransition(this);
+            builder.setHalfmoveClock(calculateHalfmoveClock());
+            builder.setPositionHistory(calculatePositionHistory());
+            builder.setFullmoveNumber(calculateFullmoveNumber());
 
             return builder.build();
         }
@@ -264,21 +295,32 @@ public abstract class Move {
 
         final Move decoratedMove;
         final Pawn promotedPawn;
+        final Piece.PieceType promotionType;
 
         public PawnPromotionMove(final Move decoratedMove) {
+            this(decoratedMove, Piece.PieceType.QUEEN);
+        }
+
+        public PawnPromotionMove(final Move decoratedMove, final Piece.PieceType promotionType) {
             super(decoratedMove.getBoard(), decoratedMove.getMovedPiece(), decoratedMove.getDestinationCoordinate());
             this.decoratedMove = decoratedMove;
             this.promotedPawn = (Pawn) decoratedMove.getMovedPiece();
+            this.promotionType = promotionType;
+        }
+
+        public Piece.PieceType getPromotionType() {
+            return this.promotionType;
         }
 
         @Override
         public int hashCode() {
-            return decoratedMove.hashCode() + (31 * promotedPawn.hashCode());
+            return decoratedMove.hashCode() + (31 * promotedPawn.hashCode()) + this.promotionType.hashCode();
         }
 
         @Override
         public boolean equals(Object other) {
-            return this == other || other instanceof PawnPromotionMove && super.equals(other);
+            return this == other || other instanceof PawnPromotionMove && super.equals(other) &&
+                    this.promotionType == ((PawnPromotionMove) other).promotionType;
         }
 
         @Override
@@ -296,11 +338,31 @@ public abstract class Move {
                 builder.setPiece(piece);
             }
 
-            builder.setPiece(this.promotedPawn.getPromotionPiece().movePiece(this));
+            final Piece promotionPiece = createPromotionPiece();
+            builder.setPiece(promotionPiece);
             builder.setMoveMaker(pawnMovedBoard.currentPlayer().getAlliance());
+            builder.setGamePhase(pawnMovedBoard.getGamePhase() + promotionPiece.getPieceType().getPhaseWeight());
+            builder.setMoveTransition(this);
+            builder.setHalfmoveClock(calculateHalfmoveClock());
+            builder.setPositionHistory(calculatePositionHistory());
+            builder.setFullmoveNumber(calculateFullmoveNumber());
             return builder.build();
         }
 
+        // a promoted rook has moved as far as castling is concerned
+        private Piece createPromotionPiece() {
+            switch (this.promotionType) {
+                case ROOK:
+                    return new Rook(this.promotedPawn.getPieceAlliance(), this.destinationCoordinate, false);
+                case BISHOP:
+                    return new Bishop(this.promotedPawn.getPieceAlliance(), this.destinationCoordinate, false);
+                case KNIGHT:
+                    return new Knight(this.promotedPawn.getPieceAlliance(), this.destinationCoordinate, false);
+                default:
+                    return new Queen(this.promotedPawn.getPieceAlliance(), this.destinationCoordinate, false);
+            }
+        }
+
         @Override
         public boolean isAttack() {
             return this.decoratedMove.isAttack();
@@ -313,7 +375,7 @@ public abstract class Move {
 
         @Override
         public String toString() {
-            return decoratedMove.toString() + promotedPawn.getPromotionPiece().toString();
+            return decoratedMove.toString() + "=" + this.promotionType.toString();
         }
     }
 
@@ -342,6 +404,11 @@ public abstract class Move {
             builder.setPiece(movedPawn);
             builder.setEnPassantPawn(movedPawn);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setGamePhase(calculateGamePhase());
+            builder.setMoveTransition(this);
+            builder.setHalfmoveClock(calculateHalfmoveClock());
+            builder.setPositionHistory(calculatePositionHistory());
+            builder.setFullmoveNumber(calculateFullmoveNumber());
             return builder.build();
         }
 
@@ -352,7 +419,7 @@ public abstract class Move {
 
     }
 
-    static abstract class CastleMove extends Move{
+    public static abstract class CastleMove extends Move{
 
         protected final Rook castleRook;
         protected final int castleRookStartCoordinate;
@@ -374,6 +441,20 @@ public abstract class Move {
             return castleRook;
         }
 
+        public int getCastleRookStartCoordinate(){
+            return this.castleRookStartCoordinate;
+        }
+
+        public int getCastleRookDestinationCoordinate(){
+            return this.castleRookDestinationCoordinate;
+        }
+
+        // castling rights are gone for good, so no earlier position can come back
+        @Override
+        protected PositionHistory calculatePositionHistory() {
+            return PositionHistory.EMPTY;
+        }
+
         @Override
         public boolean isCastlingMove(){
             return true;
@@ -396,8 +477,13 @@ public abstract class Move {
 
             builder.setPiece(this.movedPiece.movePiece(this));
             //TODO look into the first move on normal pieces
-            builder.setPiece(new Rook(this.castleRookDestinationCoordinate, this.castleRook.getPieceAlliance()));
+            builder.setPiece(new Rook(this.castleRook.getPieceAlliance(), this.castleRookDestinationCoordinate, false));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setGamePhase(calculateGamePhase());
+            builder.setMoveTransition(this);
+            builder.setHalfmoveClock(calculateHalfmoveClock());
+            builder.setPositionHistory(calculatePositionHistory());
+            builder.setFullmoveNumber(calculateFullmoveNumber());
             return builder.build();
         }
 
@@ -474,9 +560,40 @@ public abstract class Move {
             super(null, 65);
         }
 
+        public NullMove(final Board board) {
+            super(board, 65);
+        }
+
+        // passes the turn: same pieces, other side to move and no en passant square
         @Override
         public Board execute() {
-            throw new RuntimeException("can't execute the null move");
+            if(this.board == null){
+                throw new RuntimeException("can't execute the null move");
+            }
+
+            final Builder builder = new Builder();
+            for(final Piece piece : this.board.getAllPieces()){
+                builder.setPiece(piece);
+            }
+            builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setGamePhase(this.board.getGamePhase());
+            builder.setMoveTransition(this);
+            builder.setHalfmoveClock(calculateHalfmoveClock());
+            builder.setPositionHistory(calculatePositionHistory());
+            builder.setFullmoveNumber(calculateFullmoveNumber());
+            return builder.build();
+        }
+
+        // a pass moves nothing, so the fifty-move count runs on
+        @Override
+        protected int calculateHalfmoveClock() {
+            return this.board.getHalfmoveClock() + 1;
+        }
+
+        // positions on either side of a pass must not count as repetitions of each other
+        @Override
+        protected PositionHistory calculatePositionHistory() {
+            return PositionHistory.EMPTY;
         }
 
         @Override
@@ -505,6 +622,31 @@ public abstract class Move {
             return NULL_MOVE;
         }
 
+        public static Move createMove(final Board board,
+                                      final int currentCoordinate,
+                                      final int destinationCoordinate,
+                                      final Piece.PieceType promotionType){
+
+            for(final Move move : board.currentPlayer().getLegalMoves()){
+                if(move.getCurrentCoordinate() == currentCoordinate && move.getDestinationCoordinate() == destinationCoordinate &&
+                   move instanceof PawnPromotionMove && ((PawnPromotionMove) move).getPromotionType() == promotionType){
+                    return move;
+                }
+            }
+
+            return NULL_MOVE;
+        }
+
+        // SAN such as "Nbd7", "exd5", "O-O" or "e8=Q+", or long algebraic notation, for the side to move
+        public static Move createMove(final Board board,
+                                      final String notation){
+            return AlgebraicNotation.resolve(board, notation);
+        }
+
+        public static Move createNullMove(final Board board){
+            return new NullMove(board);
+        }
+
     }
 
 }
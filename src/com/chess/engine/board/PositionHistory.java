@@ -0,0 +1,46 @@
+package com.chess.engine.board;
+
+// persistent stack of the hashes of earlier positions, shared between boards that descend from one another
+public final class PositionHistory {
+
+    public static final PositionHistory EMPTY = new PositionHistory(0L, null, 0);
+
+    private final long hash;
+    private final PositionHistory previous;
+    private final int size;
+
+    private PositionHistory(final long hash, final PositionHistory previous, final int size) {
+        this.hash = hash;
+        this.previous = previous;
+        this.size = size;
+    }
+
+    public PositionHistory push(final long hash) {
+        return new PositionHistory(hash, this, this.size + 1);
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    // most recent position first
+    public long[] toArray() {
+        final long[] hashes = new long[this.size];
+        int index = 0;
+        for (PositionHistory entry = this; entry.size > 0; entry = entry.previous) {
+            hashes[index++] = entry.hash;
+        }
+        return hashes;
+    }
+
+    public int count(final long hash) {
+        int count = 0;
+        for (PositionHistory entry = this; entry.size > 0; entry = entry.previous) {
+            if (entry.hash == hash) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+}
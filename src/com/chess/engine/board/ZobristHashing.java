@@ -0,0 +1,76 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+
+import java.util.SplittableRandom;
+
+public final class ZobristHashing {
+
+    // fixed seed so hashes stay stable between runs and can be written to disk
+    private static final long SEED = 0x4A43686573734C4CL;
+
+    private static final long[][][] PIECE_KEYS = new long[2][Piece.PieceType.values().length][BoardUtils.NUM_TILES];
+    private static final long[] CASTLING_KEYS = new long[4];
+    private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.NUM_TILES_PER_ROW];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        for (final long[][] allianceKeys : PIECE_KEYS) {
+            for (final long[] pieceKeys : allianceKeys) {
+                for (int i = 0; i < pieceKeys.length; i++) {
+                    pieceKeys[i] = random.nextLong();
+                }
+            }
+        }
+        for (int i = 0; i < CASTLING_KEYS.length; i++) {
+            CASTLING_KEYS[i] = random.nextLong();
+        }
+        for (int i = 0; i < EN_PASSANT_KEYS.length; i++) {
+            EN_PASSANT_KEYS[i] = random.nextLong();
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    private ZobristHashing() {
+        throw new RuntimeException("You cannot initialize this class");
+    }
+
+    public static long pieceKey(final Piece piece) {
+        return pieceKey(piece.getPieceAlliance(), piece.getPieceType(), piece.getPiecePosition());
+    }
+
+    public static long pieceKey(final Alliance alliance, final Piece.PieceType pieceType, final int position) {
+        return PIECE_KEYS[alliance.ordinal()][pieceType.ordinal()][position];
+    }
+
+    public static long blackToMoveKey() {
+        return BLACK_TO_MOVE_KEY;
+    }
+
+    static long calculateHash(final Board board, final Alliance nextMoveMaker) {
+        long hash = 0L;
+
+        for (final Piece piece : board.getAllPieces()) {
+            hash ^= pieceKey(piece);
+        }
+
+        if (nextMoveMaker.isBlack()) {
+            hash ^= BLACK_TO_MOVE_KEY;
+        }
+
+        if (board.hasCastlingRight(60, 63)) hash ^= CASTLING_KEYS[0];
+        if (board.hasCastlingRight(60, 56)) hash ^= CASTLING_KEYS[1];
+        if (board.hasCastlingRight(4, 7)) hash ^= CASTLING_KEYS[2];
+        if (board.hasCastlingRight(4, 0)) hash ^= CASTLING_KEYS[3];
+
+        // a jump nobody can answer in passing leaves the same position as any other way of reaching it
+        if (board.canCaptureEnPassant()) {
+            hash ^= EN_PASSANT_KEYS[board.getEnPassantPawn().getPiecePosition() % BoardUtils.NUM_TILES_PER_ROW];
+        }
+
+        return hash;
+    }
+
+}
@@ -15,7 +15,8 @@ public class Pawn extends Piece {
 
     private final static int[] CANDIDATE_MOVE_COORDINATE = {16, 9, 8, 7};
 
-    private Piece promotionPiece = this;
+    // queen first, so a from/to lookup that takes the first match promotes to a queen
+    private final static PieceType[] PROMOTION_TYPES = {PieceType.QUEEN, PieceType.KNIGHT, PieceType.ROOK, PieceType.BISHOP};
 
     public Pawn(final int piecePosition, final Alliance pieceAlliance) {
         super(PieceType.PAWN, piecePosition, pieceAlliance, true);
@@ -42,7 +43,7 @@ public class Pawn extends Piece {
             if (currentCandidateOffset == 8 && !board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
 
                 if(this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)){
-                    legalMoves.add(new Move.PawnPromotionMove(new Move.PawnMove(board, this, candidateDestinationCoordinate)));
+                    addPromotions(legalMoves, new Move.PawnMove(board, this, candidateDestinationCoordinate));
                 } else {
                     legalMoves.add(new Move.PawnMove(board, this, candidateDestinationCoordinate));
                 }
@@ -66,7 +67,7 @@ public class Pawn extends Piece {
                     final Piece pieceOnCandidate = board.getTile(candidateDestinationCoordinate).getPiece();
                     if(this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
                         if(this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)){
-                            legalMoves.add(new Move.PawnPromotionMove(new Move.PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate)));
+                            addPromotions(legalMoves, new Move.PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
                         } else {
                             legalMoves.add(new Move.PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
                         }
@@ -89,7 +90,7 @@ public class Pawn extends Piece {
                     final Piece pieceOnCandidate = board.getTile(candidateDestinationCoordinate).getPiece();
                     if(this.pieceAlliance != pieceOnCandidate.getPieceAlliance()){
                         if(this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)){
-                            legalMoves.add(new Move.PawnPromotionMove(new Move.PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate)));
+                            addPromotions(legalMoves, new Move.PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
                         } else {
                             legalMoves.add(new Move.PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
                         }
@@ -112,17 +113,15 @@ public class Pawn extends Piece {
         return ImmutableList.copyOf(legalMoves);
     }
 
-    public void setPromotionPiece(Piece piece){
-        this.promotionPiece = piece;
-    }
-
-    public Piece getPromotionPiece(){
-        return this.promotionPiece;
+    private static void addPromotions(final List<Move> legalMoves, final Move pawnMove) {
+        for (final PieceType promotionType : PROMOTION_TYPES) {
+            legalMoves.add(new Move.PawnPromotionMove(pawnMove, promotionType));
+        }
     }
 
     @Override
     public Pawn movePiece(final Move move) {
-        return new Pawn(move.getDestinationCoordinate(), move.getMovedPiece().getPieceAlliance());
+        return new Pawn(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate(), false);
     }
 
     @Override
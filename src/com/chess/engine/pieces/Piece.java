@@ -80,7 +80,7 @@ public abstract class Piece {
 
     public enum PieceType {
 
-        PAWN("P", 100) {
+        PAWN("P", 100, 0) {
             @Override
             public boolean isKing() {
                 return false;
@@ -101,7 +101,7 @@ public abstract class Piece {
                 }
             }
         },
-        KNIGHT("N", 300) {
+        KNIGHT("N", 300, 1) {
             @Override
             public boolean isKing() {
                 return false;
@@ -122,7 +122,7 @@ public abstract class Piece {
                 }
             }
         },
-        BISHOP("B", 300) {
+        BISHOP("B", 300, 1) {
             @Override
             public boolean isKing() {
                 return false;
@@ -143,7 +143,7 @@ public abstract class Piece {
                 }
             }
         },
-        ROOK("R", 500) {
+        ROOK("R", 500, 2) {
             @Override
             public boolean isKing() {
                 return false;
@@ -164,7 +164,7 @@ public abstract class Piece {
                 }
             }
         },
-        QUEEN("Q", 900) {
+        QUEEN("Q", 900, 4) {
             @Override
             public boolean isKing() {
                 return false;
@@ -185,7 +185,7 @@ public abstract class Piece {
                 }
             }
         },
-        KING("K", 1000) {
+        KING("K", 1000, 0) {
             @Override
             public boolean isKing() {
                 return true;
@@ -210,10 +210,12 @@ public abstract class Piece {
 
         private String pieceName;
         private int pieceValue;
+        private int phaseWeight;
 
-        PieceType(final String pieceName, final int pieceValue) {
+        PieceType(final String pieceName, final int pieceValue, final int phaseWeight) {
             this.pieceName = pieceName;
             this.pieceValue = pieceValue;
+            this.phaseWeight = phaseWeight;
         }
 
         @Override
@@ -224,6 +226,9 @@ public abstract class Piece {
         public int getPieceValue(){
             return this.pieceValue;
         }
+        public int getPhaseWeight(){
+            return this.phaseWeight;
+        }
         public String getPieceName(){
             return this.pieceName;
         }
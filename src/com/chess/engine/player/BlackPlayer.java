@@ -77,8 +77,8 @@ public class BlackPlayer extends Player{
                 final Tile rookTile = this.board.getTile(0);
 
                 if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                    if(Player.calculateAttacksOnTile(1, opponentLegals).isEmpty() &&  // may be don't need position 1
-                            Player.calculateAttacksOnTile(2, opponentLegals).isEmpty() &&
+                    // the king never crosses b8, so only its emptiness matters
+                    if(Player.calculateAttacksOnTile(2, opponentLegals).isEmpty() &&
                             Player.calculateAttacksOnTile(3, opponentLegals).isEmpty() &&
                             rookTile.getPiece().getPieceType().isRook()) {
                         kingCastles.add(new Move.QeenSideCastleMove(this.board,
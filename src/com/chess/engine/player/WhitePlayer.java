@@ -80,9 +80,9 @@ public class WhitePlayer extends Player{
                 final Tile rookTile = this.board.getTile(56);
 
                 if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
+                    // the king never crosses b1, so only its emptiness matters
                     if(Player.calculateAttacksOnTile(59, opponentLegals).isEmpty() &&
                             Player.calculateAttacksOnTile(58, opponentLegals).isEmpty() &&
-                            Player.calculateAttacksOnTile(57, opponentLegals).isEmpty() &&
                             rookTile.getPiece().getPieceType().isRook()) {
                         kingCastles.add(new QeenSideCastleMove(this.board,
                                                                this.playerKing,
@@ -6,4 +6,10 @@ public interface BoardEvaluator {
 
     int evaluate(Board board, int depth);
 
+    // alpha and beta are the search window from white's point of view, evaluators
+    // may return a cheaper partial score when it falls far outside of it
+    default int evaluate(Board board, int depth, int alpha, int beta) {
+        return evaluate(board, depth);
+    }
+
 }
@@ -0,0 +1,64 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+
+import java.util.Random;
+
+// plays straight from the book while the position is in it and only falls back to searching once it is not
+public class BookMoveStrategy implements MoveStrategy {
+
+    private final OpeningBook book;
+    private final MoveStrategy strategy;
+    private final OpeningBook.Selection selection;
+    private final Random random;
+    private volatile boolean lastMoveFromBook;
+
+    public BookMoveStrategy(final OpeningBook book, final MoveStrategy strategy) {
+        this(book, strategy, OpeningBook.Selection.WEIGHTED_RANDOM, new Random());
+    }
+
+    public BookMoveStrategy(final OpeningBook book,
+                            final MoveStrategy strategy,
+                            final OpeningBook.Selection selection,
+                            final Random random) {
+        this.book = book;
+        this.strategy = strategy;
+        this.selection = selection;
+        this.random = random;
+    }
+
+    @Override
+    public String toString() {
+        return "Book(" + this.strategy + ")";
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        final Move bookMove = this.book.getBookMove(board, this.selection, this.random);
+        this.lastMoveFromBook = bookMove != null;
+        return this.lastMoveFromBook ? bookMove : this.strategy.execute(board);
+    }
+
+    @Override
+    public Move execute(final Board board, final CancellationToken cancellationToken, final SearchListener listener) {
+        final Move bookMove = this.book.getBookMove(board, this.selection, this.random);
+        this.lastMoveFromBook = bookMove != null;
+        return this.lastMoveFromBook ? bookMove : this.strategy.execute(board, cancellationToken, listener);
+    }
+
+    public boolean isLastMoveFromBook() {
+        return this.lastMoveFromBook;
+    }
+
+    @Override
+    public long getNumBoardsEvaluated() {
+        return this.lastMoveFromBook ? 0 : this.strategy.getNumBoardsEvaluated();
+    }
+
+    @Override
+    public SearchStatistics.Snapshot getSearchStatistics() {
+        return this.lastMoveFromBook ? SearchStatistics.Snapshot.EMPTY : this.strategy.getSearchStatistics();
+    }
+
+}
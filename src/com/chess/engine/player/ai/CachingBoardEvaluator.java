@@ -0,0 +1,139 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class CachingBoardEvaluator implements BoardEvaluator {
+
+    private static final int DEFAULT_SIZE = 1 << 16;
+
+    private static final long VALID_FLAG = 1L << 48;
+    private static final long DEPTH_MASK = 0xFFFFL;
+    private static final long SCORE_MASK = 0xFFFFFFFFL;
+
+    private final BoardEvaluator boardEvaluator;
+    private final int indexMask;
+
+    // lockless hashing: keys hold (hash ^ data), so a torn key/data pair never verifies
+    private final AtomicLongArray keys;
+    private final AtomicLongArray data;
+
+    private final LongAdder probes;
+    private final LongAdder hits;
+
+    public CachingBoardEvaluator(final BoardEvaluator boardEvaluator) {
+        this(boardEvaluator, DEFAULT_SIZE);
+    }
+
+    public CachingBoardEvaluator(final BoardEvaluator boardEvaluator, final int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("cache size must be positive: " + size);
+        }
+        final int capacity = Integer.highestOneBit(size) == size ? size : Integer.highestOneBit(size) << 1;
+        this.boardEvaluator = boardEvaluator;
+        this.indexMask = capacity - 1;
+        this.keys = new AtomicLongArray(capacity);
+        this.data = new AtomicLongArray(capacity);
+        this.probes = new LongAdder();
+        this.hits = new LongAdder();
+    }
+
+    @Override
+    public int evaluate(final Board board, final int depth) {
+        final long hash = board.getZobristHash();
+        final int index = index(hash);
+        final long entry = probe(hash, index, depth);
+        if (entry != 0) {
+            return unpackScore(entry);
+        }
+
+        final int score = this.boardEvaluator.evaluate(board, depth);
+        store(hash, index, score, depth);
+        return score;
+    }
+
+    // cached scores are always full ones, so they answer any window; a lazy evaluator only cuts short outside
+    // the window, so only a score strictly inside it is known to be full and stored
+    @Override
+    public int evaluate(final Board board, final int depth, final int alpha, final int beta) {
+        final long hash = board.getZobristHash();
+        final int index = index(hash);
+        final long entry = probe(hash, index, depth);
+        if (entry != 0) {
+            return unpackScore(entry);
+        }
+
+        final int score = this.boardEvaluator.evaluate(board, depth, alpha, beta);
+        if (score > alpha && score < beta) {
+            store(hash, index, score, depth);
+        }
+        return score;
+    }
+
+    public long getProbes() {
+        return this.probes.sum();
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public double getHitRate() {
+        final long probes = getProbes();
+        return probes == 0 ? 0.0 : (double) getHits() / probes;
+    }
+
+    public int getSize() {
+        return this.indexMask + 1;
+    }
+
+    public void clear() {
+        for (int i = 0; i <= this.indexMask; i++) {
+            this.keys.setOpaque(i, 0L);
+            this.data.setOpaque(i, 0L);
+        }
+        this.probes.reset();
+        this.hits.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "CachingBoardEvaluator(" + this.boardEvaluator + ")";
+    }
+
+    private int index(final long hash) {
+        return (int) (hash ^ (hash >>> 32)) & this.indexMask;
+    }
+
+    // the matching entry, or 0 on a miss
+    private long probe(final long hash, final int index, final int depth) {
+        this.probes.increment();
+        final long entry = this.data.getOpaque(index);
+        if ((this.keys.getOpaque(index) ^ entry) == hash && (entry & VALID_FLAG) != 0 && unpackDepth(entry) == depth) {
+            this.hits.increment();
+            return entry;
+        }
+        return 0;
+    }
+
+    private void store(final long hash, final int index, final int score, final int depth) {
+        final long packed = pack(score, depth);
+        this.keys.setOpaque(index, hash ^ packed);
+        this.data.setOpaque(index, packed);
+    }
+
+    private static long pack(final int score, final int depth) {
+        return VALID_FLAG | ((depth & DEPTH_MASK) << 32) | (score & SCORE_MASK);
+    }
+
+    private static int unpackScore(final long entry) {
+        return (int) (entry & SCORE_MASK);
+    }
+
+    private static int unpackDepth(final long entry) {
+        return (short) ((entry >>> 32) & DEPTH_MASK);
+    }
+
+}
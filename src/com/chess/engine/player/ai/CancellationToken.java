@@ -0,0 +1,24 @@
+package com.chess.engine.player.ai;
+
+// shared between the thread running a search and whoever may want to end it early
+public final class CancellationToken {
+
+    private volatile boolean cancelled;
+    private volatile boolean hasDeadline;
+    private volatile long deadlineNanos;
+
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    // the token also counts as cancelled once System.nanoTime() passes the deadline
+    public void setDeadline(final long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+        this.hasDeadline = true;
+    }
+
+    public boolean isCancelled() {
+        return this.cancelled || (this.hasDeadline && System.nanoTime() - this.deadlineNanos >= 0);
+    }
+
+}
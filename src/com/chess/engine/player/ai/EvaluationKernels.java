@@ -0,0 +1,24 @@
+package com.chess.engine.player.ai;
+
+public interface EvaluationKernels {
+
+    int dot(int[] features, int[] weights, int length);
+
+    static boolean isVectorApiAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+
+    static EvaluationKernels create() {
+        if (isVectorApiAvailable()) {
+            try {
+                return (EvaluationKernels) Class.forName("com.chess.engine.player.ai.VectorEvaluationKernels")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (final ReflectiveOperationException | LinkageError e) {
+                return new ScalarEvaluationKernels();
+            }
+        }
+        return new ScalarEvaluationKernels();
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Move;
+
+import java.util.Arrays;
+
+public final class HistoryTable {
+
+    // keeps the scores well inside int range however long the search runs
+    private static final int MAX_SCORE = 1 << 20;
+
+    private final int[][][] scores;
+
+    public HistoryTable() {
+        this.scores = new int[2][64][64];
+    }
+
+    public int score(final Alliance alliance, final Move move) {
+        return this.scores[index(alliance)][move.getCurrentCoordinate()][move.getDestinationCoordinate()];
+    }
+
+    // rewards a quiet move that caused a beta cutoff, deeper cutoffs count for more
+    public void update(final Alliance alliance, final Move move, final int depth) {
+        final int[] row = this.scores[index(alliance)][move.getCurrentCoordinate()];
+        final int destination = move.getDestinationCoordinate();
+        row[destination] += depth * depth;
+        if (row[destination] >= MAX_SCORE) {
+            age();
+        }
+    }
+
+    // halves every score so older searches fade out instead of dominating
+    public void age() {
+        for (final int[][] side : this.scores) {
+            for (final int[] row : side) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] >>= 1;
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        for (final int[][] side : this.scores) {
+            for (final int[] row : side) {
+                Arrays.fill(row, 0);
+            }
+        }
+    }
+
+    private static int index(final Alliance alliance) {
+        return alliance.isWhite() ? 0 : 1;
+    }
+
+}
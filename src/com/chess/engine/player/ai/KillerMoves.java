@@ -0,0 +1,43 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Move;
+
+import java.util.Arrays;
+
+public final class KillerMoves {
+
+    public static final int SLOTS = 2;
+
+    private static final int MAX_PLY = 128;
+
+    // encoded as in TranspositionTable, the newest killer sits in slot 0
+    private final int[][] killers;
+
+    public KillerMoves() {
+        this.killers = new int[MAX_PLY][SLOTS];
+        clear();
+    }
+
+    public int killer(final int ply, final int slot) {
+        return ply < MAX_PLY ? this.killers[ply][slot] : TranspositionTable.NO_MOVE;
+    }
+
+    public void store(final int ply, final Move move) {
+        if (ply >= MAX_PLY) {
+            return;
+        }
+        final int encodedMove = TranspositionTable.encodeMove(move);
+        final int[] slots = this.killers[ply];
+        if (slots[0] != encodedMove) {
+            slots[1] = slots[0];
+            slots[0] = encodedMove;
+        }
+    }
+
+    public void clear() {
+        for (final int[] slots : this.killers) {
+            Arrays.fill(slots, TranspositionTable.NO_MOVE);
+        }
+    }
+
+}
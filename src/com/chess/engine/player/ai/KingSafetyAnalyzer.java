@@ -0,0 +1,43 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Tile;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.player.Player;
+
+public final class KingSafetyAnalyzer {
+
+    private static final int PAWN_SHIELD_BONUS = 12;
+
+    private KingSafetyAnalyzer() {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    // counts own pawns on the two ranks in front of the king, only matters while heavy pieces remain
+    public static int kingSafetyScore(final Board board, final Player player, final int gamePhase) {
+        final int kingPosition = player.getPlayerKing().getPiecePosition();
+        final int kingColumn = kingPosition % BoardUtils.NUM_TILES_PER_ROW;
+        final int direction = player.getAlliance().getDirection();
+
+        int shieldPawns = 0;
+        for (int rankOffset = 1; rankOffset <= 2; rankOffset++) {
+            for (int columnOffset = -1; columnOffset <= 1; columnOffset++) {
+                final int column = kingColumn + columnOffset;
+                final int coordinate = kingPosition + direction * rankOffset * BoardUtils.NUM_TILES_PER_ROW + columnOffset;
+                if (column < 0 || column >= BoardUtils.NUM_TILES_PER_ROW || !BoardUtils.isValidTileCoordinate(coordinate)) {
+                    continue;
+                }
+                final Tile tile = board.getTile(coordinate);
+                if (tile.isTileOccupied() &&
+                        tile.getPiece().getPieceType() == Piece.PieceType.PAWN &&
+                        tile.getPiece().getPieceAlliance() == player.getAlliance()) {
+                    shieldPawns++;
+                }
+            }
+        }
+
+        return (shieldPawns * PAWN_SHIELD_BONUS * gamePhase) / BoardUtils.MAX_GAME_PHASE;
+    }
+
+}
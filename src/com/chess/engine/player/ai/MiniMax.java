@@ -3,14 +3,23 @@ package com.chess.engine.player.ai;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
 import com.chess.engine.player.MoveTransition;
+import com.google.common.collect.ImmutableList;
 
 public class MiniMax implements MoveStrategy{
 
     private final BoardEvaluator boardEvaluator;
     private final int searchDepth;
+    private long boardsEvaluated;
+    private final SearchStatistics statistics = new SearchStatistics();
+    private volatile SearchStatistics.Snapshot lastStatistics = SearchStatistics.Snapshot.EMPTY;
+    private CancellationToken cancellationToken = new CancellationToken();
 
     public MiniMax(final int searchDepth) {
-        this.boardEvaluator = new StandardBoardEvaluator();
+        this(new StandardBoardEvaluator(), searchDepth);
+    }
+
+    public MiniMax(final BoardEvaluator boardEvaluator, final int searchDepth) {
+        this.boardEvaluator = boardEvaluator;
         this.searchDepth = searchDepth;
     }
 
@@ -19,29 +28,54 @@ public class MiniMax implements MoveStrategy{
         return "MiniMax";
     }
 
+    @Override
+    public long getNumBoardsEvaluated() {
+        return this.boardsEvaluated;
+    }
+
+    @Override
+    public SearchStatistics.Snapshot getSearchStatistics() {
+        return this.lastStatistics;
+    }
+
     @Override
     public Move execute(Board board) {
+        return execute(board, new CancellationToken(), SearchListener.NONE);
+    }
+
+    // a cancelled search returns the best of the root moves searched so far, or the interrupted one if none was
+    @Override
+    public Move execute(final Board board, final CancellationToken cancellationToken, final SearchListener listener) {
 
         final long startTime = System.currentTimeMillis();
+        this.boardsEvaluated = 0;
+        this.statistics.start();
+        this.cancellationToken = cancellationToken;
 
         Move bestMove = null;
+        Move interruptedMove = null;
 
         int highestSeenValue = Integer.MIN_VALUE;
         int lowestSeenValue = Integer.MAX_VALUE;
         int currentValue;
 
-        System.out.println(board.currentPlayer() + " THINKING with searchDepth = " + searchDepth);
-
-        int numMoves = board.currentPlayer().getLegalMoves().size();
-
         for (final Move move: board.currentPlayer().getLegalMoves()) {
 
+            if (bestMove != null && cancellationToken.isCancelled()) {
+                break;
+            }
+
             final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
             if(moveTransition.getMoveStatus().isDone()) {
 
-                currentValue = board.currentPlayer().getAlliance().isWhite() ?
-                        min(moveTransition.getTransitionBoard(), searchDepth -1) :
-                        max(moveTransition.getTransitionBoard(), searchDepth -1);
+                try {
+                    currentValue = board.currentPlayer().getAlliance().isWhite() ?
+                            min(moveTransition.getTransitionBoard(), searchDepth -1) :
+                            max(moveTransition.getTransitionBoard(), searchDepth -1);
+                } catch (final SearchCancelledException e) {
+                    interruptedMove = move;
+                    break;
+                }
 
                 if(board.currentPlayer().getAlliance().isWhite() && currentValue >= highestSeenValue){
                     highestSeenValue = currentValue;
@@ -55,13 +89,24 @@ public class MiniMax implements MoveStrategy{
         }
 
         final long executionTime = System.currentTimeMillis() - startTime;
+        this.statistics.depthCompleted(this.searchDepth);
+        this.lastStatistics = this.statistics.snapshot();
 
-        return bestMove;
+        if (bestMove != null) {
+            final int score = board.currentPlayer().getAlliance().isWhite() ? highestSeenValue : -lowestSeenValue;
+            listener.onIterationComplete(new SearchProgress(this.searchDepth, score, ImmutableList.of(bestMove),
+                    this.lastStatistics.totalNodes(), executionTime));
+        }
+
+        return bestMove != null ? bestMove : interruptedMove;
     }
 
 
     public int min(final Board board, final int depth){
+        checkCancelled();
+        this.statistics.node();
         if(depth == 0 || isEndGameScenario(board)){
+            this.boardsEvaluated++;
             return this.boardEvaluator.evaluate(board, depth);
         }
 
@@ -80,8 +125,11 @@ public class MiniMax implements MoveStrategy{
     }
 
     public int max(final Board board, final int depth){
+        checkCancelled();
+        this.statistics.node();
 
         if(depth == 0 || isEndGameScenario(board)){
+            this.boardsEvaluated++;
             return this.boardEvaluator.evaluate(board, depth);
         }
 
@@ -100,6 +148,12 @@ public class MiniMax implements MoveStrategy{
         return highestSeenValue;
     }
 
+    private void checkCancelled() {
+        if (this.cancellationToken.isCancelled()) {
+            throw SearchCancelledException.INSTANCE;
+        }
+    }
+
     private final static boolean isEndGameScenario(final Board board) {
 
         return board.currentPlayer().isInCheckMate() || board.currentPlayer().getOpponent().isInCheckMate();
@@ -0,0 +1,223 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// hands out moves one stage at a time, so a node that cuts off early never pays to score and sort the rest
+public final class MovePicker {
+
+    private final Collection<Move> moves;
+    private final Alliance alliance;
+    private final int hashMove;
+    private final int[] killers;
+    private final HistoryTable historyTable;
+    private final boolean tacticalOnly;
+
+    private Stage stage;
+    private List<Move> stageMoves;
+    private int stageIndex;
+
+    private MovePicker(final Board board,
+                       final int hashMove,
+                       final int[] killers,
+                       final HistoryTable historyTable,
+                       final boolean tacticalOnly) {
+        this.moves = board.currentPlayer().getLegalMoves();
+        this.alliance = board.currentPlayer().getAlliance();
+        this.hashMove = hashMove;
+        this.killers = killers;
+        this.historyTable = historyTable;
+        this.tacticalOnly = tacticalOnly;
+        this.stage = Stage.HASH_MOVE;
+        this.stageMoves = Collections.emptyList();
+        this.stageIndex = 0;
+    }
+
+    public static MovePicker forSearch(final Board board,
+                                       final int hashMove,
+                                       final KillerMoves killerMoves,
+                                       final int ply,
+                                       final HistoryTable historyTable) {
+        final int[] killers = new int[KillerMoves.SLOTS];
+        for (int slot = 0; slot < KillerMoves.SLOTS; slot++) {
+            killers[slot] = killerMoves.killer(ply, slot);
+        }
+        return new MovePicker(board, hashMove, killers, historyTable, false);
+    }
+
+    public static MovePicker forQuiescence(final Board board) {
+        return new MovePicker(board, TranspositionTable.NO_MOVE, new int[0], null, true);
+    }
+
+    // returns null once every stage is exhausted
+    public Move nextMove() {
+        while (this.stageIndex >= this.stageMoves.size()) {
+            if (this.stage == Stage.DONE) {
+                return null;
+            }
+            this.stageMoves = this.stage.generate(this);
+            this.stageIndex = 0;
+            this.stage = this.tacticalOnly ? this.stage.nextTactical() : this.stage.next();
+        }
+        return this.stageMoves.get(this.stageIndex++);
+    }
+
+    // quiet underpromotions are left to the quiet stage and out of quiescence
+    public static boolean isTactical(final Move move) {
+        return move.isAttack() || move instanceof Move.PawnPromotionMove &&
+                ((Move.PawnPromotionMove) move).getPromotionType() == Piece.PieceType.QUEEN;
+    }
+
+    private boolean isKiller(final Move move) {
+        for (final int killer : this.killers) {
+            if (TranspositionTable.matches(move, killer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // most valuable victim / least valuable attacker, queen promotions rank with the best captures
+    private static int tacticalScore(final Move move) {
+        final int promotionScore = move instanceof Move.PawnPromotionMove ?
+                10 * ((Move.PawnPromotionMove) move).getPromotionType().getPieceValue() : 0;
+        if (!move.isAttack()) {
+            return promotionScore;
+        }
+        return promotionScore + 10 * move.getAttackedPiece().getPieceValue() - move.getMovedPiece().getPieceValue();
+    }
+
+    private static List<Move> sortDescending(final List<Move> moves, final int[] scores) {
+        // insertion sort, stages are short and usually only partly consumed
+        for (int i = 1; i < moves.size(); i++) {
+            final Move move = moves.get(i);
+            final int score = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < score) {
+                moves.set(j + 1, moves.get(j));
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            moves.set(j + 1, move);
+            scores[j + 1] = score;
+        }
+        return moves;
+    }
+
+    enum Stage {
+        HASH_MOVE {
+            @Override
+            List<Move> generate(final MovePicker picker) {
+                if (picker.hashMove != TranspositionTable.NO_MOVE) {
+                    for (final Move move : picker.moves) {
+                        if (TranspositionTable.matches(move, picker.hashMove) &&
+                                (!picker.tacticalOnly || isTactical(move))) {
+                            return Collections.singletonList(move);
+                        }
+                    }
+                }
+                return Collections.emptyList();
+            }
+
+            @Override
+            Stage next() {
+                return TACTICAL;
+            }
+        },
+        TACTICAL {
+            @Override
+            List<Move> generate(final MovePicker picker) {
+                final List<Move> tactical = new ArrayList<>();
+                for (final Move move : picker.moves) {
+                    if (isTactical(move) && !TranspositionTable.matches(move, picker.hashMove)) {
+                        tactical.add(move);
+                    }
+                }
+                final int[] scores = new int[tactical.size()];
+                for (int i = 0; i < scores.length; i++) {
+                    scores[i] = tacticalScore(tactical.get(i));
+                }
+                return sortDescending(tactical, scores);
+            }
+
+            @Override
+            Stage next() {
+                return KILLERS;
+            }
+        },
+        KILLERS {
+            @Override
+            List<Move> generate(final MovePicker picker) {
+                final List<Move> killers = new ArrayList<>(KillerMoves.SLOTS);
+                for (final int killer : picker.killers) {
+                    if (killer == TranspositionTable.NO_MOVE || killer == picker.hashMove) {
+                        continue;
+                    }
+                    for (final Move move : picker.moves) {
+                        if (TranspositionTable.matches(move, killer) && !isTactical(move)) {
+                            killers.add(move);
+                            break;
+                        }
+                    }
+                }
+                return killers;
+            }
+
+            @Override
+            Stage next() {
+                return QUIETS;
+            }
+        },
+        QUIETS {
+            @Override
+            List<Move> generate(final MovePicker picker) {
+                final List<Move> quiets = new ArrayList<>();
+                for (final Move move : picker.moves) {
+                    if (!isTactical(move) &&
+                            !TranspositionTable.matches(move, picker.hashMove) &&
+                            !picker.isKiller(move)) {
+                        quiets.add(move);
+                    }
+                }
+                final int[] scores = new int[quiets.size()];
+                for (int i = 0; i < scores.length; i++) {
+                    scores[i] = picker.historyTable.score(picker.alliance, quiets.get(i));
+                }
+                return sortDescending(quiets, scores);
+            }
+
+            @Override
+            Stage next() {
+                return DONE;
+            }
+        },
+        DONE {
+            @Override
+            List<Move> generate(final MovePicker picker) {
+                return Collections.emptyList();
+            }
+
+            @Override
+            Stage next() {
+                return DONE;
+            }
+        };
+
+        abstract List<Move> generate(MovePicker picker);
+
+        abstract Stage next();
+
+        // quiescence stops after the tactical stage
+        Stage nextTactical() {
+            return this == HASH_MOVE ? TACTICAL : DONE;
+        }
+    }
+
+}
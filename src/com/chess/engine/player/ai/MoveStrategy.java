@@ -7,5 +7,14 @@ public interface MoveStrategy {
 
     Move execute (Board board);
 
+    long getNumBoardsEvaluated();
+
+    // statistics of the last search, published when it finishes
+    SearchStatistics.Snapshot getSearchStatistics();
+
+    // strategies that cannot be stopped or observed simply run to completion
+    default Move execute(final Board board, final CancellationToken cancellationToken, final SearchListener listener) {
+        return execute(board);
+    }
 
 }
@@ -0,0 +1,12 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+
+import java.util.List;
+
+public interface MultiPVStrategy extends MoveStrategy {
+
+    // the best numLines root moves, best first; fewer when the position has fewer legal moves
+    List<SearchLine> analyse(Board board, int numLines);
+
+}
@@ -0,0 +1,57 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+
+import java.util.Random;
+
+// prepared replies for known positions, consulted before any search
+public interface OpeningBook {
+
+    // book moves found among the position's generated moves, empty when it is out of book; these are
+    // not checked for leaving the king in check, only the move getBookMove picks is
+    ImmutableList<BookMove> getBookMoves(Board board);
+
+    // null when the position is out of book, every move has weight 0 or the picked move is illegal
+    default Move getBookMove(final Board board, final Selection selection, final Random random) {
+        final Move move = pickBookMove(board, selection, random);
+        return move != null && board.currentPlayer().makeMove(move).getMoveStatus().isDone() ? move : null;
+    }
+
+    private Move pickBookMove(final Board board, final Selection selection, final Random random) {
+        final ImmutableList<BookMove> bookMoves = getBookMoves(board);
+        long totalWeight = 0;
+        BookMove best = null;
+        for (final BookMove bookMove : bookMoves) {
+            totalWeight += bookMove.weight();
+            if (best == null || bookMove.weight() > best.weight()) {
+                best = bookMove;
+            }
+        }
+        if (totalWeight == 0) {
+            return null;
+        }
+        if (selection == Selection.BEST) {
+            return best.move();
+        }
+        long pick = (long) (random.nextDouble() * totalWeight);
+        for (final BookMove bookMove : bookMoves) {
+            pick -= bookMove.weight();
+            if (pick < 0) {
+                return bookMove.move();
+            }
+        }
+        return best.move();
+    }
+
+    enum Selection {
+        BEST,
+        // in proportion to the weights, so play varies between games
+        WEIGHTED_RANDOM
+    }
+
+    record BookMove(Move move, int weight) {
+    }
+
+}
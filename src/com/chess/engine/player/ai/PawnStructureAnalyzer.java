@@ -0,0 +1,56 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.player.Player;
+
+public final class PawnStructureAnalyzer {
+
+    private static final int DOUBLED_PAWN_PENALTY = -10;
+    private static final int ISOLATED_PAWN_PENALTY = -10;
+
+    private PawnStructureAnalyzer() {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    public static int pawnStructureScore(final Player player) {
+        final int[] pawnsOnColumn = createPawnColumnTable(player);
+        return calculateDoubledPawnPenalty(pawnsOnColumn) + calculateIsolatedPawnPenalty(pawnsOnColumn);
+    }
+
+    private static int[] createPawnColumnTable(final Player player) {
+        final int[] pawnsOnColumn = new int[BoardUtils.NUM_TILES_PER_ROW];
+        for (final Piece piece : player.getActivePieces()) {
+            if (piece.getPieceType() == Piece.PieceType.PAWN) {
+                pawnsOnColumn[piece.getPiecePosition() % BoardUtils.NUM_TILES_PER_ROW]++;
+            }
+        }
+        return pawnsOnColumn;
+    }
+
+    private static int calculateDoubledPawnPenalty(final int[] pawnsOnColumn) {
+        int doubledPawns = 0;
+        for (final int pawns : pawnsOnColumn) {
+            if (pawns > 1) {
+                doubledPawns += pawns - 1;
+            }
+        }
+        return doubledPawns * DOUBLED_PAWN_PENALTY;
+    }
+
+    private static int calculateIsolatedPawnPenalty(final int[] pawnsOnColumn) {
+        int isolatedPawns = 0;
+        for (int column = 0; column < pawnsOnColumn.length; column++) {
+            if (pawnsOnColumn[column] == 0) {
+                continue;
+            }
+            final boolean leftNeighbour = column > 0 && pawnsOnColumn[column - 1] > 0;
+            final boolean rightNeighbour = column < pawnsOnColumn.length - 1 && pawnsOnColumn[column + 1] > 0;
+            if (!leftNeighbour && !rightNeighbour) {
+                isolatedPawns += pawnsOnColumn[column];
+            }
+        }
+        return isolatedPawns * ISOLATED_PAWN_PENALTY;
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.pieces.Piece;
+
+public final class PieceSquareTables {
+
+    // indexed by PieceType ordinal: pawn, knight, bishop, rook, queen, king
+    private static final int[] MIDGAME_PIECE_VALUES = {100, 320, 330, 500, 900, 0};
+    private static final int[] ENDGAME_PIECE_VALUES = {120, 300, 320, 530, 950, 0};
+
+    // tables are laid out from white's point of view, coordinate 0 is a8
+    private static final int[] PAWN_MIDGAME = {
+             0,  0,  0,  0,  0,  0,  0,  0,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            10, 10, 20, 30, 30, 20, 10, 10,
+             5,  5, 10, 25, 25, 10,  5,  5,
+             0,  0,  0, 20, 20,  0,  0,  0,
+             5, -5,-10,  0,  0,-10, -5,  5,
+             5, 10, 10,-20,-20, 10, 10,  5,
+             0,  0,  0,  0,  0,  0,  0,  0
+    };
+
+    private static final int[] PAWN_ENDGAME = {
+             0,  0,  0,  0,  0,  0,  0,  0,
+            80, 80, 80, 80, 80, 80, 80, 80,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            30, 30, 30, 30, 30, 30, 30, 30,
+            20, 20, 20, 20, 20, 20, 20, 20,
+            10, 10, 10, 10, 10, 10, 10, 10,
+            10, 10, 10, 10, 10, 10, 10, 10,
+             0,  0,  0,  0,  0,  0,  0,  0
+    };
+
+    private static final int[] KNIGHT_TABLE = {
+            -50,-40,-30,-30,-30,-30,-40,-50,
+            -40,-20,  0,  0,  0,  0,-20,-40,
+            -30,  0, 10, 15, 15, 10,  0,-30,
+            -30,  5, 15, 20, 20, 15,  5,-30,
+            -30,  0, 15, 20, 20, 15,  0,-30,
+            -30,  5, 10, 15, 15, 10,  5,-30,
+            -40,-20,  0,  5,  5,  0,-20,-40,
+            -50,-40,-30,-30,-30,-30,-40,-50
+    };
+
+    private static final int[] BISHOP_TABLE = {
+            -20,-10,-10,-10,-10,-10,-10,-20,
+            -10,  0,  0,  0,  0,  0,  0,-10,
+            -10,  0,  5, 10, 10,  5,  0,-10,
+            -10,  5,  5, 10, 10,  5,  5,-10,
+            -10,  0, 10, 10, 10, 10,  0,-10,
+            -10, 10, 10, 10, 10, 10, 10,-10,
+            -10,  5,  0,  0,  0,  0,  5,-10,
+            -20,-10,-10,-10,-10,-10,-10,-20
+    };
+
+    private static final int[] ROOK_MIDGAME = {
+              0,  0,  0,  0,  0,  0,  0,  0,
+              5, 10, 10, 10, 10, 10, 10,  5,
+             -5,  0,  0,  0,  0,  0,  0, -5,
+             -5,  0,  0,  0,  0,  0,  0, -5,
+             -5,  0,  0,  0,  0,  0,  0, -5,
+             -5,  0,  0,  0,  0,  0,  0, -5,
+             -5,  0,  0,  0,  0,  0,  0, -5,
+              0,  0,  0,  5,  5,  0,  0,  0
+    };
+
+    private static final int[] ROOK_ENDGAME = {
+             10, 10, 10, 10, 10, 10, 10, 10,
+             15, 15, 15, 15, 15, 15, 15, 15,
+              0,  0,  0,  0,  0,  0,  0,  0,
+              0,  0,  0,  0,  0,  0,  0,  0,
+              0,  0,  0,  0,  0,  0,  0,  0,
+              0,  0,  0,  0,  0,  0,  0,  0,
+              0,  0,  0,  0,  0,  0,  0,  0,
+              0,  0,  0,  0,  0,  0,  0,  0
+    };
+
+    private static final int[] QUEEN_TABLE = {
+            -20,-10,-10, -5, -5,-10,-10,-20,
+            -10,  0,  0,  0,  0,  0,  0,-10,
+            -10,  0,  5,  5,  5,  5,  0,-10,
+             -5,  0,  5,  5,  5,  5,  0, -5,
+              0,  0,  5,  5,  5,  5,  0, -5,
+            -10,  5,  5,  5,  5,  5,  0,-10,
+            -10,  0,  5,  0,  0,  0,  0,-10,
+            -20,-10,-10, -5, -5,-10,-10,-20
+    };
+
+    private static final int[] KING_MIDGAME = {
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -30,-40,-40,-50,-50,-40,-40,-30,
+            -20,-30,-30,-40,-40,-30,-30,-20,
+            -10,-20,-20,-20,-20,-20,-20,-10,
+             20, 20,  0,  0,  0,  0, 20, 20,
+             20, 30, 10,  0,  0, 10, 30, 20
+    };
+
+    private static final int[] KING_ENDGAME = {
+            -50,-40,-30,-20,-20,-30,-40,-50,
+            -30,-20,-10,  0,  0,-10,-20,-30,
+            -30,-10, 20, 30, 30, 20,-10,-30,
+            -30,-10, 30, 40, 40, 30,-10,-30,
+            -30,-10, 30, 40, 40, 30,-10,-30,
+            -30,-10, 20, 30, 30, 20,-10,-30,
+            -30,-30,  0,  0,  0,  0,-30,-30,
+            -50,-30,-30,-30,-30,-30,-30,-50
+    };
+
+    private static final int[][] MIDGAME_TABLES = {PAWN_MIDGAME, KNIGHT_TABLE, BISHOP_TABLE, ROOK_MIDGAME, QUEEN_TABLE, KING_MIDGAME};
+    private static final int[][] ENDGAME_TABLES = {PAWN_ENDGAME, KNIGHT_TABLE, BISHOP_TABLE, ROOK_ENDGAME, QUEEN_TABLE, KING_ENDGAME};
+
+    public static final int NUM_FEATURES = MIDGAME_TABLES.length * 64;
+
+    // material folded into the tables, laid out as one dense weight per (piece type, square) feature
+    private static final int[] MIDGAME_WEIGHTS = createDenseWeights(MIDGAME_PIECE_VALUES, MIDGAME_TABLES);
+    private static final int[] ENDGAME_WEIGHTS = createDenseWeights(ENDGAME_PIECE_VALUES, ENDGAME_TABLES);
+
+    private PieceSquareTables() {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    public static int featureIndex(final Piece piece) {
+        return piece.getPieceType().ordinal() * 64 + tableIndex(piece);
+    }
+
+    public static int[] midgameWeights() {
+        return MIDGAME_WEIGHTS;
+    }
+
+    public static int[] endgameWeights() {
+        return ENDGAME_WEIGHTS;
+    }
+
+    private static int[] createDenseWeights(final int[] pieceValues, final int[][] tables) {
+        final int[] weights = new int[NUM_FEATURES];
+        for (int type = 0; type < tables.length; type++) {
+            for (int square = 0; square < 64; square++) {
+                weights[type * 64 + square] = pieceValues[type] + tables[type][square];
+            }
+        }
+        return weights;
+    }
+
+    private static int tableIndex(final Piece piece) {
+        // mirror the rank for black so both sides read the same tables
+        return piece.getPieceAlliance().isWhite() ? piece.getPiecePosition() : piece.getPiecePosition() ^ 56;
+    }
+
+}
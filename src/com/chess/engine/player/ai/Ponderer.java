@@ -0,0 +1,109 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.MoveTransition;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// keeps the engine thinking on the opponent's time, searching the position after the reply it expects
+public final class Ponderer {
+
+    private final PrincipalVariationSearch strategy;
+    // one thread, so a search never starts before a cancelled ponder search has unwound
+    private final ExecutorService executor;
+
+    private Board ponderBoard;
+    private TimeManager ponderTimeManager;
+    private Future<List<SearchLine>> ponderResult;
+
+    public Ponderer(final PrincipalVariationSearch strategy) {
+        this.strategy = strategy;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "ponderer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public PrincipalVariationSearch getStrategy() {
+        return this.strategy;
+    }
+
+    // board is the position right after the engine's move, with the opponent to move
+    public synchronized void startPondering(final Board board) {
+        stopPondering();
+
+        final Move predictedReply = TranspositionTable.decodeMove(board,
+                TranspositionTable.move(this.strategy.getTranspositionTable().probe(board.getZobristHash())));
+        if (predictedReply == null) {
+            return;
+        }
+        final MoveTransition moveTransition = board.currentPlayer().makeMove(predictedReply);
+        if (!moveTransition.getMoveStatus().isDone()) {
+            return;
+        }
+
+        final Board target = moveTransition.getTransitionBoard();
+        final TimeManager timeManager = TimeManager.unlimited();
+        this.ponderBoard = target;
+        this.ponderTimeManager = timeManager;
+        this.ponderResult = this.executor.submit(() -> this.strategy.analyse(target, 1, timeManager));
+    }
+
+    // on a ponder hit the running search takes over this move's clock and carries on;
+    // on a miss it is dropped and a fresh search starts with the table still warm
+    public synchronized Move search(final Board board, final TimeManager timeManager) {
+        if (this.ponderResult != null && this.ponderBoard.getZobristHash() == board.getZobristHash()) {
+            final Future<List<SearchLine>> result = this.ponderResult;
+            this.ponderTimeManager.startClock(timeManager);
+            clear();
+            final List<SearchLine> lines = await(result);
+            if (!lines.isEmpty()) {
+                return lines.get(0).getMove();
+            }
+        }
+        stopPondering();
+        final List<SearchLine> lines = await(this.executor.submit(() -> this.strategy.analyse(board, 1, timeManager)));
+        return lines.isEmpty() ? null : lines.get(0).getMove();
+    }
+
+    public synchronized boolean isPondering() {
+        return this.ponderResult != null && !this.ponderResult.isDone();
+    }
+
+    public synchronized void stopPondering() {
+        if (this.ponderResult != null) {
+            this.ponderTimeManager.getCancellationToken().cancel();
+            this.ponderResult.cancel(false);
+            clear();
+        }
+    }
+
+    public void shutdown() {
+        stopPondering();
+        this.executor.shutdown();
+    }
+
+    private void clear() {
+        this.ponderBoard = null;
+        this.ponderTimeManager = null;
+        this.ponderResult = null;
+    }
+
+    private static List<SearchLine> await(final Future<List<SearchLine>> result) {
+        try {
+            return result.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (final ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+}
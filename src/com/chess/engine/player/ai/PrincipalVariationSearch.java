@@ -0,0 +1,541 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.player.MoveTransition;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class PrincipalVariationSearch implements MultiPVStrategy, TimedMoveStrategy {
+
+    static final int INFINITY = 1_000_000_000;
+    static final int MATE_SCORE = 100_000_000;
+    static final int MATE_THRESHOLD = MATE_SCORE - 1000;
+
+    private static final int DEFAULT_LAZY_MARGIN = 300;
+    private static final int ASPIRATION_WINDOW = 50;
+    private static final int MAX_PRINCIPAL_VARIATION = 64;
+    private static final int MAX_SEARCH_DEPTH = 64;
+
+    private final BoardEvaluator boardEvaluator;
+    private final TranspositionTable transpositionTable;
+    private final SearchConfiguration configuration;
+    private final HistoryTable historyTable;
+    private final KillerMoves killerMoves;
+    private final RepetitionTable repetitionTable;
+    private final int searchDepth;
+
+    private final SearchStatistics statistics;
+    private volatile SearchStatistics.Snapshot lastStatistics;
+    private CancellationToken cancellationToken;
+    private int completedDepth;
+    private long boardsEvaluated;
+    private int lastScore;
+
+    public PrincipalVariationSearch(final int searchDepth) {
+        this(new StandardBoardEvaluator(DEFAULT_LAZY_MARGIN), searchDepth);
+    }
+
+    public PrincipalVariationSearch(final BoardEvaluator boardEvaluator, final int searchDepth) {
+        this(boardEvaluator, searchDepth, new TranspositionTable());
+    }
+
+    public PrincipalVariationSearch(final BoardEvaluator boardEvaluator,
+                                    final int searchDepth,
+                                    final TranspositionTable transpositionTable) {
+        this(boardEvaluator, searchDepth, transpositionTable, SearchConfiguration.defaults());
+    }
+
+    public PrincipalVariationSearch(final BoardEvaluator boardEvaluator,
+                                    final int searchDepth,
+                                    final TranspositionTable transpositionTable,
+                                    final SearchConfiguration configuration) {
+        this.boardEvaluator = boardEvaluator;
+        this.searchDepth = searchDepth;
+        this.transpositionTable = transpositionTable;
+        this.configuration = configuration;
+        this.historyTable = new HistoryTable();
+        this.killerMoves = new KillerMoves();
+        this.repetitionTable = new RepetitionTable();
+        this.statistics = new SearchStatistics();
+        this.lastStatistics = SearchStatistics.Snapshot.EMPTY;
+    }
+
+    @Override
+    public String toString() {
+        return "PVS";
+    }
+
+    @Override
+    public long getNumBoardsEvaluated() {
+        return this.boardsEvaluated;
+    }
+
+    @Override
+    public SearchStatistics.Snapshot getSearchStatistics() {
+        return this.lastStatistics;
+    }
+
+    // score of the last completed iteration, from the point of view of the side that was to move
+    public int getLastScore() {
+        return this.lastScore;
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return this.transpositionTable;
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        return execute(board, new CancellationToken(), SearchListener.NONE);
+    }
+
+    @Override
+    public Move execute(final Board board, final CancellationToken cancellationToken, final SearchListener listener) {
+        return bestMove(iterativeDeepening(board, 1, this.searchDepth, TimeManager.unlimited(cancellationToken), listener));
+    }
+
+    // the fixed depth is ignored, the time manager decides when to stop
+    @Override
+    public Move execute(final Board board, final TimeManager timeManager, final SearchListener listener) {
+        return bestMove(analyse(board, 1, timeManager, listener));
+    }
+
+    // each iteration searches the root once per line, excluding the moves already picked for that depth;
+    // the lines share the tree, the history and the transposition table
+    @Override
+    public List<SearchLine> analyse(final Board board, final int numLines) {
+        return analyse(board, numLines, new CancellationToken());
+    }
+
+    // a cancelled search returns the lines of its last completed iteration; the first iteration always completes
+    public List<SearchLine> analyse(final Board board, final int numLines, final CancellationToken cancellationToken) {
+        return iterativeDeepening(board, numLines, this.searchDepth, TimeManager.unlimited(cancellationToken), SearchListener.NONE);
+    }
+
+    public List<SearchLine> analyse(final Board board, final int numLines, final TimeManager timeManager) {
+        return analyse(board, numLines, timeManager, SearchListener.NONE);
+    }
+
+    public List<SearchLine> analyse(final Board board,
+                                    final int numLines,
+                                    final TimeManager timeManager,
+                                    final SearchListener listener) {
+        return iterativeDeepening(board, numLines, MAX_SEARCH_DEPTH, timeManager, listener);
+    }
+
+    private List<SearchLine> iterativeDeepening(final Board board,
+                                                final int numLines,
+                                                final int maxDepth,
+                                                final TimeManager timeManager,
+                                                final SearchListener listener) {
+        final long startTime = System.currentTimeMillis();
+        this.cancellationToken = timeManager.getCancellationToken();
+        this.completedDepth = 0;
+        this.boardsEvaluated = 0;
+        this.statistics.start();
+        this.historyTable.age();
+        this.killerMoves.clear();
+        this.repetitionTable.reset(board);
+        this.repetitionTable.push(board.getZobristHash());
+
+        List<SearchLine> lines = ImmutableList.of();
+
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            final List<SearchLine> iterationLines;
+            try {
+                iterationLines = searchIteration(board, depth, numLines, lines);
+            } catch (final SearchCancelledException e) {
+                break;
+            }
+            if (iterationLines.isEmpty()) {
+                break;
+            }
+            lines = iterationLines;
+            this.completedDepth = depth;
+            this.statistics.depthCompleted(depth);
+            listener.onIterationComplete(new SearchProgress(depth, lines.get(0).getScore(),
+                    lines.get(0).getPrincipalVariation(), this.statistics.getNodes(), System.currentTimeMillis() - startTime));
+            if (!timeManager.shouldStartIteration(lines.get(0).getMove(), lines.get(0).getScore())) {
+                break;
+            }
+        }
+
+        this.lastScore = lines.isEmpty() ? 0 : lines.get(0).getScore();
+        this.lastStatistics = this.statistics.snapshot();
+        return ImmutableList.copyOf(lines);
+    }
+
+    private static Move bestMove(final List<SearchLine> lines) {
+        return lines.isEmpty() ? null : lines.get(0).getMove();
+    }
+
+    private List<SearchLine> searchIteration(final Board board,
+                                             final int depth,
+                                             final int numLines,
+                                             final List<SearchLine> previousLines) {
+        final List<Move> excludedMoves = new ArrayList<>();
+        final List<SearchLine> lines = new ArrayList<>();
+
+        for (int line = 0; line < numLines; line++) {
+            final SearchLine previousLine = line < previousLines.size() ? previousLines.get(line) : null;
+            final Move previousBest = previousLine != null && !excludedMoves.contains(previousLine.getMove()) ?
+                    previousLine.getMove() : null;
+            final RootResult result = previousLine == null ?
+                    searchRoot(board, depth, -INFINITY, INFINITY, previousBest, excludedMoves) :
+                    aspirationSearch(board, depth, previousLine.getScore(), previousBest, excludedMoves);
+            if (result.bestMove == null) {
+                break;
+            }
+            excludedMoves.add(result.bestMove);
+            lines.add(new SearchLine(result.bestMove, result.score, extractPrincipalVariation(board, result.bestMove, depth)));
+        }
+
+        // a later line can outscore an earlier one once the windows have settled
+        lines.sort(Comparator.comparingInt(SearchLine::getScore).reversed());
+        return lines;
+    }
+
+    // searches a narrow window around the previous iteration's score and widens it on each failure
+    private RootResult aspirationSearch(final Board board,
+                                        final int depth,
+                                        final int previousScore,
+                                        final Move previousBest,
+                                        final Collection<Move> excludedMoves) {
+        int delta = ASPIRATION_WINDOW;
+        int alpha = Math.max(-INFINITY, previousScore - delta);
+        int beta = Math.min(INFINITY, previousScore + delta);
+
+        while (true) {
+            final RootResult result = searchRoot(board, depth, alpha, beta, previousBest, excludedMoves);
+            if (result.score <= alpha && alpha > -INFINITY) {
+                delta *= 2;
+                alpha = Math.max(-INFINITY, result.score - delta);
+            } else if (result.score >= beta && beta < INFINITY) {
+                delta *= 2;
+                beta = Math.min(INFINITY, result.score + delta);
+            } else {
+                return result;
+            }
+        }
+    }
+
+    private RootResult searchRoot(final Board board,
+                                  final int depth,
+                                  int alpha,
+                                  final int beta,
+                                  final Move previousBest,
+                                  final Collection<Move> excludedMoves) {
+        final int originalAlpha = alpha;
+        final long hash = board.getZobristHash();
+        final long entry = this.transpositionTable.probe(hash);
+        this.statistics.transpositionProbe(entry != 0);
+        final int hashMove = previousBest != null ? TranspositionTable.encodeMove(previousBest) : TranspositionTable.move(entry);
+
+        Move bestMove = null;
+        int bestScore = -INFINITY;
+        int legalMoves = 0;
+
+        final MovePicker movePicker = MovePicker.forSearch(board, hashMove, this.killerMoves, 0, this.historyTable);
+        for (Move move = movePicker.nextMove(); move != null; move = movePicker.nextMove()) {
+            if (excludedMoves.contains(move)) {
+                continue;
+            }
+            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            if (!moveTransition.getMoveStatus().isDone()) {
+                continue;
+            }
+            legalMoves++;
+
+            final Board child = moveTransition.getTransitionBoard();
+            int score;
+            if (legalMoves == 1) {
+                score = -search(child, depth - 1, -beta, -alpha, 1, true);
+            } else {
+                score = -search(child, depth - 1, -alpha - 1, -alpha, 1, false);
+                if (score > alpha && score < beta) {
+                    score = -search(child, depth - 1, -beta, -alpha, 1, true);
+                }
+            }
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        if (legalMoves == 0) {
+            return new RootResult(null, board.currentPlayer().isInCheck() ? -MATE_SCORE : 0);
+        }
+
+        // on a fail low every move is only an upper bound, so the previous best is the better guess
+        if (bestScore <= originalAlpha && previousBest != null) {
+            bestMove = previousBest;
+        }
+
+        // with moves excluded this is not the score of the position, so keep it out of the table
+        if (excludedMoves.isEmpty()) {
+            this.transpositionTable.store(hash, bestScore, depth, bound(bestScore, originalAlpha, beta),
+                    TranspositionTable.encodeMove(bestMove));
+        }
+        return new RootResult(bestMove, bestScore);
+    }
+
+    // follows the hash moves from the root move's reply onwards, stopping at a gap or a repeated position
+    private ImmutableList<Move> extractPrincipalVariation(final Board board, final Move rootMove, final int depth) {
+        final ImmutableList.Builder<Move> principalVariation = ImmutableList.builder();
+        principalVariation.add(rootMove);
+
+        final Set<Long> visited = new HashSet<>();
+        visited.add(board.getZobristHash());
+        Board current = board.currentPlayer().makeMove(rootMove).getTransitionBoard();
+
+        for (int ply = 1; ply < Math.min(depth, MAX_PRINCIPAL_VARIATION) && visited.add(current.getZobristHash()); ply++) {
+            final Move move = TranspositionTable.decodeMove(current,
+                    TranspositionTable.move(this.transpositionTable.probe(current.getZobristHash())));
+            if (move == null) {
+                break;
+            }
+            final MoveTransition moveTransition = current.currentPlayer().makeMove(move);
+            if (!moveTransition.getMoveStatus().isDone()) {
+                break;
+            }
+            principalVariation.add(move);
+            current = moveTransition.getTransitionBoard();
+        }
+
+        return principalVariation.build();
+    }
+
+    private int search(final Board board, final int depth, int alpha, final int beta, final int ply, final boolean pvNode) {
+        if (this.completedDepth > 0 && this.cancellationToken.isCancelled()) {
+            // unwinds the whole iteration so nothing half-searched reaches the table or the result
+            throw SearchCancelledException.INSTANCE;
+        }
+        if (board.isDrawByFiftyMoveRule() || this.repetitionTable.isRepetition(board)) {
+            return 0;
+        }
+        if (depth <= 0) {
+            return quiescence(board, alpha, beta, ply);
+        }
+        this.statistics.node();
+
+        final int originalAlpha = alpha;
+        final long hash = board.getZobristHash();
+        final long entry = this.transpositionTable.probe(hash);
+        this.statistics.transpositionProbe(entry != 0);
+        int hashMove = TranspositionTable.NO_MOVE;
+
+        if (entry != 0) {
+            hashMove = TranspositionTable.move(entry);
+            if (!pvNode && TranspositionTable.depth(entry) >= depth) {
+                final int score = scoreFromTable(TranspositionTable.score(entry), ply);
+                final int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT ||
+                        (bound == TranspositionTable.LOWER_BOUND && score >= beta) ||
+                        (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        final boolean inCheck = board.currentPlayer().isInCheck();
+        final boolean pruningNode = !pvNode && !inCheck && Math.abs(beta) < MATE_THRESHOLD;
+        final boolean reverseFutility = pruningNode && this.configuration.isReverseFutilityPruning(depth);
+        final boolean futility = pruningNode && this.configuration.isFutilityPruning(depth);
+        final int staticEval = reverseFutility || futility ? evaluate(board, -INFINITY, INFINITY) : 0;
+
+        // the static score is so far above beta that a shallow search will not bring it back down
+        if (reverseFutility && staticEval - this.configuration.reverseFutilityMargin(depth) >= beta) {
+            return staticEval - this.configuration.reverseFutilityMargin(depth);
+        }
+
+        if (!pvNode && canTryNullMove(board, depth, beta)) {
+            final int reduction = this.configuration.nullMoveReduction(depth);
+            final Board nullMoveBoard = Move.MoveFactory.createNullMove(board).execute();
+            final int score = -search(nullMoveBoard, depth - 1 - reduction, -beta, -beta + 1, ply + 1, false);
+            if (score >= beta) {
+                // a pass proves nothing about mates, so do not return an unproven mate score
+                return score >= MATE_THRESHOLD ? beta : score;
+            }
+        }
+
+        // quiet moves cannot lift a hopeless static score above alpha this close to the horizon
+        final boolean futile = futility && staticEval + this.configuration.futilityMargin(depth) <= alpha;
+
+        final Alliance alliance = board.currentPlayer().getAlliance();
+        int bestScore = -INFINITY;
+        int bestMove = TranspositionTable.NO_MOVE;
+        int legalMoves = 0;
+
+        this.repetitionTable.push(hash);
+        final MovePicker movePicker = MovePicker.forSearch(board, hashMove, this.killerMoves, ply, this.historyTable);
+        for (Move move = movePicker.nextMove(); move != null; move = movePicker.nextMove()) {
+            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            if (!moveTransition.getMoveStatus().isDone()) {
+                continue;
+            }
+            legalMoves++;
+
+            final Board child = moveTransition.getTransitionBoard();
+            final boolean quiet = !inCheck && isQuiet(move, child);
+
+            if (futile && quiet && legalMoves > 1) {
+                bestScore = Math.max(bestScore, staticEval + this.configuration.futilityMargin(depth));
+                continue;
+            }
+
+            int score;
+            if (legalMoves == 1) {
+                score = -search(child, depth - 1, -beta, -alpha, ply + 1, pvNode);
+            } else {
+                final int reduction = quiet && this.configuration.canReduceLateMove(depth, legalMoves) ?
+                        this.configuration.lateMoveReduction(depth, legalMoves, this.historyTable.score(alliance, move)) : 0;
+                score = -search(child, depth - 1 - reduction, -alpha - 1, -alpha, ply + 1, false);
+                if (reduction > 0 && score > alpha) {
+                    score = -search(child, depth - 1, -alpha - 1, -alpha, ply + 1, false);
+                }
+                if (score > alpha && score < beta) {
+                    score = -search(child, depth - 1, -beta, -alpha, ply + 1, true);
+                }
+            }
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = TranspositionTable.encodeMove(move);
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                this.statistics.betaCutoff(legalMoves);
+                if (!MovePicker.isTactical(move)) {
+                    this.killerMoves.store(ply, move);
+                    this.historyTable.update(alliance, move, depth);
+                }
+                break;
+            }
+        }
+
+        this.repetitionTable.pop();
+
+        if (legalMoves == 0) {
+            return board.currentPlayer().isInCheck() ? -MATE_SCORE + ply : 0;
+        }
+
+        this.transpositionTable.store(hash, scoreToTable(bestScore, ply), depth, bound(bestScore, originalAlpha, beta), bestMove);
+        return bestScore;
+    }
+
+    private int quiescence(final Board board, int alpha, final int beta, final int ply) {
+        this.statistics.quiescenceNode();
+        final int standPat = evaluate(board, alpha, beta);
+        if (standPat >= beta) {
+            return standPat;
+        }
+        if (standPat > alpha) {
+            alpha = standPat;
+        }
+
+        int bestScore = standPat;
+        final MovePicker movePicker = MovePicker.forQuiescence(board);
+        for (Move move = movePicker.nextMove(); move != null; move = movePicker.nextMove()) {
+            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            if (!moveTransition.getMoveStatus().isDone()) {
+                continue;
+            }
+            final int score = -quiescence(moveTransition.getTransitionBoard(), -beta, -alpha, ply + 1);
+            if (score > bestScore) {
+                bestScore = score;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        return bestScore;
+    }
+
+    // captures, promotions and checking moves are never reduced or pruned
+    private static boolean isQuiet(final Move move, final Board child) {
+        return !MovePicker.isTactical(move) && !child.currentPlayer().isInCheck();
+    }
+
+    private boolean canTryNullMove(final Board board, final int depth, final int beta) {
+        return this.configuration.isNullMovePruning() &&
+                depth >= this.configuration.getNullMoveMinDepth() &&
+                Math.abs(beta) < MATE_THRESHOLD &&
+                !(board.getTransitionMove() instanceof Move.NullMove) &&
+                !board.currentPlayer().isInCheck() &&
+                nonPawnPhase(board) >= this.configuration.getNullMoveMinNonPawnPhase();
+    }
+
+    // zugzwang guard: pawn-only and thin endings have a phase weight of zero or close to it
+    private static int nonPawnPhase(final Board board) {
+        int phase = 0;
+        for (final Piece piece : board.currentPlayer().getActivePieces()) {
+            phase += piece.getPieceType().getPhaseWeight();
+        }
+        return phase;
+    }
+
+    // the evaluator scores from white's point of view, the search from the side to move
+    private int evaluate(final Board board, final int alpha, final int beta) {
+        this.boardsEvaluated++;
+        if (board.currentPlayer().getAlliance().isWhite()) {
+            return this.boardEvaluator.evaluate(board, 0, alpha, beta);
+        }
+        return -this.boardEvaluator.evaluate(board, 0, -beta, -alpha);
+    }
+
+    private static int bound(final int score, final int originalAlpha, final int beta) {
+        if (score <= originalAlpha) {
+            return TranspositionTable.UPPER_BOUND;
+        }
+        return score >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+    }
+
+    // mate scores are stored relative to the node so they stay valid when reached through another path
+    private static int scoreToTable(final int score, final int ply) {
+        if (score >= MATE_THRESHOLD) {
+            return score + ply;
+        }
+        return score <= -MATE_THRESHOLD ? score - ply : score;
+    }
+
+    private static int scoreFromTable(final int score, final int ply) {
+        if (score >= MATE_THRESHOLD) {
+            return score - ply;
+        }
+        return score <= -MATE_THRESHOLD ? score + ply : score;
+    }
+
+    private static final class RootResult {
+
+        final Move bestMove;
+        final int score;
+
+        RootResult(final Move bestMove, final int score) {
+            this.bestMove = bestMove;
+            this.score = score;
+        }
+    }
+
+}
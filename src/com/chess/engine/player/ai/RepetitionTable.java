@@ -0,0 +1,65 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+
+import java.util.Arrays;
+
+// hashes of the game so far plus the current search path, with a counting filter so most lookups never walk the stack
+final class RepetitionTable {
+
+    private static final int FILTER_SIZE = 1 << 12;
+
+    private final int[] filter;
+    private long[] hashes;
+    private int size;
+
+    RepetitionTable() {
+        this.filter = new int[FILTER_SIZE];
+        this.hashes = new long[256];
+        this.size = 0;
+    }
+
+    // seeds the table with the positions the root can still repeat
+    void reset(final Board root) {
+        Arrays.fill(this.filter, 0);
+        this.size = 0;
+        final long[] history = root.getPositionHistory().toArray();
+        for (int i = history.length - 1; i >= 0; i--) {
+            push(history[i]);
+        }
+    }
+
+    void push(final long hash) {
+        if (this.size == this.hashes.length) {
+            this.hashes = Arrays.copyOf(this.hashes, this.size * 2);
+        }
+        this.hashes[this.size++] = hash;
+        this.filter[slot(hash)]++;
+    }
+
+    void pop() {
+        this.filter[slot(this.hashes[--this.size])]--;
+    }
+
+    // a single earlier occurrence within the reversible moves is scored as a draw by the search
+    boolean isRepetition(final Board board) {
+        final long hash = board.getZobristHash();
+        if (this.filter[slot(hash)] == 0) {
+            return false;
+        }
+        // the board's own history ends at the last irreversible move or pass, whichever came later
+        final int oldest = Math.max(0, this.size - board.getPositionHistory().size());
+        // the same side is to move every other ply, and the parent can never match
+        for (int i = this.size - 2; i >= oldest; i -= 2) {
+            if (this.hashes[i] == hash) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int slot(final long hash) {
+        return (int) (hash >>> 52) & (FILTER_SIZE - 1);
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.chess.engine.player.ai;
+
+// public so callers and tests can pin the reference kernels whatever create() would pick
+public final class ScalarEvaluationKernels implements EvaluationKernels {
+
+    @Override
+    public int dot(final int[] features, final int[] weights, final int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += features[i] * weights[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public String toString() {
+        return "scalar";
+    }
+
+}
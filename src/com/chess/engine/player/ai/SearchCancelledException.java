@@ -0,0 +1,13 @@
+package com.chess.engine.player.ai;
+
+// thrown from deep inside a search once its CancellationToken fires and caught at the root; preallocated
+// and stackless, since it only ever unwinds
+final class SearchCancelledException extends RuntimeException {
+
+    static final SearchCancelledException INSTANCE = new SearchCancelledException();
+
+    private SearchCancelledException() {
+        super("search cancelled", null, false, false);
+    }
+
+}
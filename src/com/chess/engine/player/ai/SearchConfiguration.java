@@ -0,0 +1,194 @@
+package com.chess.engine.player.ai;
+
+public final class SearchConfiguration {
+
+    private final boolean nullMovePruning;
+    private final int nullMoveMinDepth;
+    private final int nullMoveBaseReduction;
+    private final int nullMoveDepthDivisor;
+    private final int nullMoveMinNonPawnPhase;
+    private final boolean lateMoveReductions;
+    private final int lateMoveMinDepth;
+    private final int lateMoveMinIndex;
+    private final int lateMoveBaseReduction;
+    private final int lateMoveDivisor;
+    private final int lateMoveHistoryDivisor;
+    private final boolean futilityPruning;
+    private final int futilityMaxDepth;
+    private final int futilityMargin;
+    private final boolean reverseFutilityPruning;
+    private final int reverseFutilityMaxDepth;
+    private final int reverseFutilityMargin;
+
+    private SearchConfiguration(final Builder builder) {
+        this.nullMovePruning = builder.nullMovePruning;
+        this.nullMoveMinDepth = builder.nullMoveMinDepth;
+        this.nullMoveBaseReduction = builder.nullMoveBaseReduction;
+        this.nullMoveDepthDivisor = builder.nullMoveDepthDivisor;
+        this.nullMoveMinNonPawnPhase = builder.nullMoveMinNonPawnPhase;
+        this.lateMoveReductions = builder.lateMoveReductions;
+        this.lateMoveMinDepth = builder.lateMoveMinDepth;
+        this.lateMoveMinIndex = builder.lateMoveMinIndex;
+        this.lateMoveBaseReduction = builder.lateMoveBaseReduction;
+        this.lateMoveDivisor = builder.lateMoveDivisor;
+        this.lateMoveHistoryDivisor = builder.lateMoveHistoryDivisor;
+        this.futilityPruning = builder.futilityPruning;
+        this.futilityMaxDepth = builder.futilityMaxDepth;
+        this.futilityMargin = builder.futilityMargin;
+        this.reverseFutilityPruning = builder.reverseFutilityPruning;
+        this.reverseFutilityMaxDepth = builder.reverseFutilityMaxDepth;
+        this.reverseFutilityMargin = builder.reverseFutilityMargin;
+    }
+
+    public static SearchConfiguration defaults() {
+        return new Builder().build();
+    }
+
+    public boolean isNullMovePruning() {
+        return this.nullMovePruning;
+    }
+
+    public int getNullMoveMinDepth() {
+        return this.nullMoveMinDepth;
+    }
+
+    // R grows with the remaining depth: base + depth / divisor
+    public int nullMoveReduction(final int depth) {
+        return this.nullMoveBaseReduction + depth / this.nullMoveDepthDivisor;
+    }
+
+    public int getNullMoveMinNonPawnPhase() {
+        return this.nullMoveMinNonPawnPhase;
+    }
+
+    public boolean isLateMoveReductions() {
+        return this.lateMoveReductions;
+    }
+
+    // moveIndex counts legal moves from 1, moves before the minimum index are never reduced
+    public boolean canReduceLateMove(final int depth, final int moveIndex) {
+        return this.lateMoveReductions && depth >= this.lateMoveMinDepth && moveIndex > this.lateMoveMinIndex;
+    }
+
+    // base + (depth + moveIndex) / divisor, less for moves with a good history, never dropping into quiescence
+    public int lateMoveReduction(final int depth, final int moveIndex, final int historyScore) {
+        final int reduction = this.lateMoveBaseReduction + (depth + moveIndex) / this.lateMoveDivisor -
+                historyScore / this.lateMoveHistoryDivisor;
+        return Math.max(0, Math.min(reduction, depth - 2));
+    }
+
+    public boolean isFutilityPruning(final int depth) {
+        return this.futilityPruning && depth <= this.futilityMaxDepth;
+    }
+
+    public int futilityMargin(final int depth) {
+        return this.futilityMargin * depth;
+    }
+
+    public boolean isReverseFutilityPruning(final int depth) {
+        return this.reverseFutilityPruning && depth <= this.reverseFutilityMaxDepth;
+    }
+
+    public int reverseFutilityMargin(final int depth) {
+        return this.reverseFutilityMargin * depth;
+    }
+
+    public static class Builder {
+
+        boolean nullMovePruning = true;
+        int nullMoveMinDepth = 3;
+        int nullMoveBaseReduction = 2;
+        int nullMoveDepthDivisor = 6;
+        int nullMoveMinNonPawnPhase = 2;
+        boolean lateMoveReductions = true;
+        int lateMoveMinDepth = 3;
+        int lateMoveMinIndex = 3;
+        int lateMoveBaseReduction = 1;
+        int lateMoveDivisor = 8;
+        int lateMoveHistoryDivisor = 2048;
+        boolean futilityPruning = true;
+        int futilityMaxDepth = 2;
+        int futilityMargin = 150;
+        boolean reverseFutilityPruning = true;
+        int reverseFutilityMaxDepth = 3;
+        int reverseFutilityMargin = 120;
+
+        public Builder setNullMovePruning(final boolean nullMovePruning) {
+            this.nullMovePruning = nullMovePruning;
+            return this;
+        }
+
+        public Builder setNullMoveMinDepth(final int nullMoveMinDepth) {
+            this.nullMoveMinDepth = nullMoveMinDepth;
+            return this;
+        }
+
+        public Builder setNullMoveReduction(final int baseReduction, final int depthDivisor) {
+            if (depthDivisor <= 0) {
+                throw new IllegalArgumentException("depth divisor must be positive: " + depthDivisor);
+            }
+            this.nullMoveBaseReduction = baseReduction;
+            this.nullMoveDepthDivisor = depthDivisor;
+            return this;
+        }
+
+        // phase weight of the side to move's pieces (N/B 1, R 2, Q 4) below which zugzwang is too likely
+        public Builder setNullMoveMinNonPawnPhase(final int nullMoveMinNonPawnPhase) {
+            this.nullMoveMinNonPawnPhase = nullMoveMinNonPawnPhase;
+            return this;
+        }
+
+        public Builder setLateMoveReductions(final boolean lateMoveReductions) {
+            this.lateMoveReductions = lateMoveReductions;
+            return this;
+        }
+
+        public Builder setLateMoveMinDepth(final int lateMoveMinDepth) {
+            this.lateMoveMinDepth = lateMoveMinDepth;
+            return this;
+        }
+
+        public Builder setLateMoveMinIndex(final int lateMoveMinIndex) {
+            this.lateMoveMinIndex = lateMoveMinIndex;
+            return this;
+        }
+
+        public Builder setLateMoveReduction(final int baseReduction, final int divisor, final int historyDivisor) {
+            if (divisor <= 0 || historyDivisor <= 0) {
+                throw new IllegalArgumentException("divisors must be positive: " + divisor + ", " + historyDivisor);
+            }
+            this.lateMoveBaseReduction = baseReduction;
+            this.lateMoveDivisor = divisor;
+            this.lateMoveHistoryDivisor = historyDivisor;
+            return this;
+        }
+
+        public Builder setFutilityPruning(final boolean futilityPruning) {
+            this.futilityPruning = futilityPruning;
+            return this;
+        }
+
+        // margins are per remaining ply, in centipawns
+        public Builder setFutilityPruning(final int maxDepth, final int margin) {
+            this.futilityMaxDepth = maxDepth;
+            this.futilityMargin = margin;
+            return this;
+        }
+
+        public Builder setReverseFutilityPruning(final boolean reverseFutilityPruning) {
+            this.reverseFutilityPruning = reverseFutilityPruning;
+            return this;
+        }
+
+        public Builder setReverseFutilityPruning(final int maxDepth, final int margin) {
+            this.reverseFutilityMaxDepth = maxDepth;
+            this.reverseFutilityMargin = margin;
+            return this;
+        }
+
+        public SearchConfiguration build() {
+            return new SearchConfiguration(this);
+        }
+    }
+
+}
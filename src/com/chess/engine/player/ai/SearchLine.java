@@ -0,0 +1,41 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+
+// one analysed root move: its score from the side to move's point of view and the expected continuation
+public final class SearchLine {
+
+    private final Move move;
+    private final int score;
+    private final ImmutableList<Move> principalVariation;
+
+    public SearchLine(final Move move, final int score, final ImmutableList<Move> principalVariation) {
+        this.move = move;
+        this.score = score;
+        this.principalVariation = principalVariation;
+    }
+
+    public Move getMove() {
+        return this.move;
+    }
+
+    public int getScore() {
+        return this.score;
+    }
+
+    // starts with the root move itself
+    public ImmutableList<Move> getPrincipalVariation() {
+        return this.principalVariation;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder().append(this.score);
+        for (final Move move : this.principalVariation) {
+            builder.append(' ').append(move);
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.chess.engine.player.ai;
+
+// called on the searching thread, so implementations should hand anything slow off to another thread
+public interface SearchListener {
+
+    SearchListener NONE = progress -> {
+    };
+
+    void onIterationComplete(SearchProgress progress);
+
+}
@@ -0,0 +1,70 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+
+// snapshot taken at the end of an iteration; the score is from the point of view of the side to move
+public final class SearchProgress {
+
+    private final int depth;
+    private final int score;
+    private final ImmutableList<Move> principalVariation;
+    private final long nodes;
+    private final long elapsedMillis;
+
+    public SearchProgress(final int depth,
+                          final int score,
+                          final ImmutableList<Move> principalVariation,
+                          final long nodes,
+                          final long elapsedMillis) {
+        this.depth = depth;
+        this.score = score;
+        this.principalVariation = principalVariation;
+        this.nodes = nodes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    public int getScore() {
+        return this.score;
+    }
+
+    public ImmutableList<Move> getPrincipalVariation() {
+        return this.principalVariation;
+    }
+
+    public Move getBestMove() {
+        return this.principalVariation.isEmpty() ? null : this.principalVariation.get(0);
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    public long getElapsedMillis() {
+        return this.elapsedMillis;
+    }
+
+    public long getNodesPerSecond() {
+        return this.nodes * 1000 / Math.max(1, this.elapsedMillis);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder()
+                .append("depth ").append(this.depth)
+                .append(" score ").append(this.score)
+                .append(" nodes ").append(this.nodes)
+                .append(" nps ").append(getNodesPerSecond())
+                .append(" time ").append(this.elapsedMillis)
+                .append(" pv");
+        for (final Move move : this.principalVariation) {
+            builder.append(' ').append(move);
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.chess.engine.player.ai;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.Arrays;
+
+// plain counters owned by the one thread running the search, other threads only ever read a published Snapshot
+public final class SearchStatistics {
+
+    private static final int MAX_DEPTH = 128;
+
+    private final long[] depthNodes;
+    private final long[] depthNanos;
+
+    private long startNanos;
+    private long nodes;
+    private long quiescenceNodes;
+    private long transpositionProbes;
+    private long transpositionHits;
+    private long betaCutoffs;
+    private long firstMoveCutoffs;
+    private int completedDepth;
+    private long lastDepthNodes;
+    private long lastDepthNanos;
+
+    public SearchStatistics() {
+        this.depthNodes = new long[MAX_DEPTH + 1];
+        this.depthNanos = new long[MAX_DEPTH + 1];
+        start();
+    }
+
+    public void start() {
+        this.startNanos = System.nanoTime();
+        this.nodes = 0;
+        this.quiescenceNodes = 0;
+        this.transpositionProbes = 0;
+        this.transpositionHits = 0;
+        this.betaCutoffs = 0;
+        this.firstMoveCutoffs = 0;
+        this.completedDepth = 0;
+        // fixed-depth strategies complete only their final depth
+        Arrays.fill(this.depthNodes, -1);
+        this.lastDepthNodes = 0;
+        this.lastDepthNanos = 0;
+    }
+
+    public void node() {
+        this.nodes++;
+    }
+
+    public void quiescenceNode() {
+        this.quiescenceNodes++;
+    }
+
+    public void transpositionProbe(final boolean hit) {
+        this.transpositionProbes++;
+        if (hit) {
+            this.transpositionHits++;
+        }
+    }
+
+    // moveIndex counts searched moves from 1; a cutoff on the first move means the ordering did its job
+    public void betaCutoff(final int moveIndex) {
+        this.betaCutoffs++;
+        if (moveIndex == 1) {
+            this.firstMoveCutoffs++;
+        }
+    }
+
+    public void depthCompleted(final int depth) {
+        if (depth > MAX_DEPTH) {
+            return;
+        }
+        final long totalNodes = this.nodes + this.quiescenceNodes;
+        final long elapsed = System.nanoTime() - this.startNanos;
+        this.depthNodes[depth] = totalNodes - this.lastDepthNodes;
+        this.depthNanos[depth] = elapsed - this.lastDepthNanos;
+        this.lastDepthNodes = totalNodes;
+        this.lastDepthNanos = elapsed;
+        this.completedDepth = depth;
+    }
+
+    public long getNodes() {
+        return this.nodes + this.quiescenceNodes;
+    }
+
+    public Snapshot snapshot() {
+        final ImmutableList.Builder<DepthTiming> depths = ImmutableList.builder();
+        for (int depth = 1; depth <= this.completedDepth; depth++) {
+            if (this.depthNodes[depth] < 0) {
+                continue;
+            }
+            depths.add(new DepthTiming(depth, this.depthNodes[depth], this.depthNanos[depth] / 1_000_000));
+        }
+        return new Snapshot(this.nodes, this.quiescenceNodes, (System.nanoTime() - this.startNanos) / 1_000_000,
+                this.transpositionProbes, this.transpositionHits, this.betaCutoffs, this.firstMoveCutoffs, depths.build());
+    }
+
+    public record DepthTiming(int depth, long nodes, long elapsedMillis) {
+    }
+
+    public record Snapshot(long nodes,
+                           long quiescenceNodes,
+                           long elapsedMillis,
+                           long transpositionProbes,
+                           long transpositionHits,
+                           long betaCutoffs,
+                           long firstMoveCutoffs,
+                           ImmutableList<DepthTiming> depths) {
+
+        public static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0, 0, 0, 0, ImmutableList.of());
+
+        public long totalNodes() {
+            return this.nodes + this.quiescenceNodes;
+        }
+
+        public long nodesPerSecond() {
+            return totalNodes() * 1000 / Math.max(1, this.elapsedMillis);
+        }
+
+        public double transpositionHitRate() {
+            return this.transpositionProbes == 0 ? 0 : (double) this.transpositionHits / this.transpositionProbes;
+        }
+
+        public double firstMoveCutoffRate() {
+            return this.betaCutoffs == 0 ? 0 : (double) this.firstMoveCutoffs / this.betaCutoffs;
+        }
+
+        // geometric mean of the growth in nodes from one iteration to the next
+        public double effectiveBranchingFactor() {
+            if (this.depths.size() < 2) {
+                return 0;
+            }
+            final DepthTiming first = this.depths.get(0);
+            final DepthTiming last = this.depths.get(this.depths.size() - 1);
+            if (first.nodes() == 0) {
+                return 0;
+            }
+            return Math.pow((double) last.nodes() / first.nodes(), 1.0 / (last.depth() - first.depth()));
+        }
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.chess.engine.player.ai;
 
 import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.Player;
 
@@ -11,14 +12,76 @@ public final class StandardBoardEvaluator implements BoardEvaluator {
     private static final int DEPTH_BONUS = 100;
     private static final int CASTLE_BONUS = 60;
 
+    private static final int NO_LAZY_MARGIN = -1;
+
+    private static final EvaluationKernels KERNELS = EvaluationKernels.create();
+    private static final ThreadLocal<int[]> PIECE_SQUARE_FEATURES =
+            ThreadLocal.withInitial(() -> new int[PieceSquareTables.NUM_FEATURES]);
+
+    private final int lazyMargin;
+
+    public StandardBoardEvaluator() {
+        this(NO_LAZY_MARGIN);
+    }
+
+    public StandardBoardEvaluator(final int lazyMargin) {
+        this.lazyMargin = lazyMargin;
+    }
+
     @Override
     public int evaluate(final Board board, final int depth) {
-        return scorePlayer(board, board.whitePlayer(), depth) - scorePlayer(board, board.blackPlayer(), depth);
+        final int gamePhase = gamePhase(board);
+        return cheapScore(board, gamePhase) + expensiveScore(board, depth, gamePhase);
     }
 
-    private int scorePlayer(final Board board, final Player player, final int depth) {
+    @Override
+    public int evaluate(final Board board, final int depth, final int alpha, final int beta) {
+        final int gamePhase = gamePhase(board);
+        final int cheapScore = cheapScore(board, gamePhase);
+
+        // mates are only possible while a king is in check, those nodes always get the full evaluation
+        if (this.lazyMargin != NO_LAZY_MARGIN &&
+                !board.whitePlayer().isInCheck() && !board.blackPlayer().isInCheck() &&
+                ((long) cheapScore + this.lazyMargin <= alpha || (long) cheapScore - this.lazyMargin >= beta)) {
+            return cheapScore;
+        }
+
+        return cheapScore + expensiveScore(board, depth, gamePhase);
+    }
 
-        return pieceValue(player) + mobility(player) + check(player) + chechMate(player, depth) + castled(player);
+    public int getLazyMargin() {
+        return this.lazyMargin;
+    }
+
+    private static int gamePhase(final Board board) {
+        return Math.min(board.getGamePhase(), BoardUtils.MAX_GAME_PHASE);
+    }
+
+    // white pieces count +1 and black pieces -1 on their (mirrored) piece-square feature
+    private static int cheapScore(final Board board, final int gamePhase) {
+        final int[] features = PIECE_SQUARE_FEATURES.get();
+        for (final Piece piece : board.getAllPieces()) {
+            features[PieceSquareTables.featureIndex(piece)] += piece.getPieceAlliance().isWhite() ? 1 : -1;
+        }
+
+        final int midgameScore = KERNELS.dot(features, PieceSquareTables.midgameWeights(), PieceSquareTables.NUM_FEATURES);
+        final int endgameScore = KERNELS.dot(features, PieceSquareTables.endgameWeights(), PieceSquareTables.NUM_FEATURES);
+
+        for (final Piece piece : board.getAllPieces()) {
+            features[PieceSquareTables.featureIndex(piece)] = 0;
+        }
+
+        return (midgameScore * gamePhase + endgameScore * (BoardUtils.MAX_GAME_PHASE - gamePhase)) / BoardUtils.MAX_GAME_PHASE;
+    }
+
+    private static int expensiveScore(final Board board, final int depth, final int gamePhase) {
+        return scorePlayer(board, board.whitePlayer(), depth, gamePhase) - scorePlayer(board, board.blackPlayer(), depth, gamePhase);
+    }
+
+    private static int scorePlayer(final Board board, final Player player, final int depth, final int gamePhase) {
+
+        return mobility(player) + check(player) + chechMate(player, depth) + castled(player) +
+               PawnStructureAnalyzer.pawnStructureScore(player) + KingSafetyAnalyzer.kingSafetyScore(board, player, gamePhase);
 
     }
 
@@ -50,13 +113,4 @@ public final class StandardBoardEvaluator implements BoardEvaluator {
 
     }
 
-    private static int pieceValue(final Player player){
-        int pieceValueScore = 0;
-        for(final Piece piece : player.getActivePieces()){
-            pieceValueScore += piece.getPieceValue();
-        }
-
-        return pieceValueScore;
-    }
-
 }
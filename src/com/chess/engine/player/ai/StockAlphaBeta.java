@@ -0,0 +1,183 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.MoveTransition;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Ordering;
+
+import java.util.Collection;
+import java.util.Comparator;
+
+public class StockAlphaBeta implements MoveStrategy {
+
+    private static final int DEFAULT_LAZY_MARGIN = 300;
+    private static final int STALEMATE_SCORE = 0;
+
+    private final BoardEvaluator boardEvaluator;
+    private final int searchDepth;
+    private long boardsEvaluated;
+    private final SearchStatistics statistics = new SearchStatistics();
+    private volatile SearchStatistics.Snapshot lastStatistics = SearchStatistics.Snapshot.EMPTY;
+    private CancellationToken cancellationToken = new CancellationToken();
+
+    public StockAlphaBeta(final int searchDepth) {
+        this(new StandardBoardEvaluator(DEFAULT_LAZY_MARGIN), searchDepth);
+    }
+
+    public StockAlphaBeta(final BoardEvaluator boardEvaluator, final int searchDepth) {
+        this.boardEvaluator = boardEvaluator;
+        this.searchDepth = searchDepth;
+        this.boardsEvaluated = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "StockAlphaBeta";
+    }
+
+    @Override
+    public long getNumBoardsEvaluated() {
+        return this.boardsEvaluated;
+    }
+
+    @Override
+    public SearchStatistics.Snapshot getSearchStatistics() {
+        return this.lastStatistics;
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        return execute(board, new CancellationToken(), SearchListener.NONE);
+    }
+
+    // a cancelled search returns the best of the root moves searched so far, or the interrupted one if none was
+    @Override
+    public Move execute(final Board board, final CancellationToken cancellationToken, final SearchListener listener) {
+
+        final long startTime = System.currentTimeMillis();
+        Move bestMove = null;
+        Move interruptedMove = null;
+
+        int highestSeenValue = Integer.MIN_VALUE;
+        int lowestSeenValue = Integer.MAX_VALUE;
+        int currentValue;
+
+        this.boardsEvaluated = 0;
+        this.statistics.start();
+        this.cancellationToken = cancellationToken;
+
+        for (final Move move : sortMoves(board.currentPlayer().getLegalMoves())) {
+
+            if (bestMove != null && cancellationToken.isCancelled()) {
+                break;
+            }
+
+            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            if (moveTransition.getMoveStatus().isDone()) {
+
+                try {
+                    currentValue = board.currentPlayer().getAlliance().isWhite() ?
+                            min(moveTransition.getTransitionBoard(), this.searchDepth - 1, highestSeenValue, lowestSeenValue) :
+                            max(moveTransition.getTransitionBoard(), this.searchDepth - 1, highestSeenValue, lowestSeenValue);
+                } catch (final SearchCancelledException e) {
+                    interruptedMove = move;
+                    break;
+                }
+
+                if (board.currentPlayer().getAlliance().isWhite() && (bestMove == null || currentValue > highestSeenValue)) {
+                    highestSeenValue = currentValue;
+                    bestMove = move;
+                } else if (board.currentPlayer().getAlliance().isBlack() && (bestMove == null || currentValue < lowestSeenValue)) {
+                    lowestSeenValue = currentValue;
+                    bestMove = move;
+                }
+            }
+        }
+
+        final long executionTime = System.currentTimeMillis() - startTime;
+        this.statistics.depthCompleted(this.searchDepth);
+        this.lastStatistics = this.statistics.snapshot();
+
+        if (bestMove != null) {
+            final int score = board.currentPlayer().getAlliance().isWhite() ? highestSeenValue : -lowestSeenValue;
+            listener.onIterationComplete(new SearchProgress(this.searchDepth, score, ImmutableList.of(bestMove),
+                    this.lastStatistics.totalNodes(), executionTime));
+        }
+
+        return bestMove != null ? bestMove : interruptedMove;
+    }
+
+    public int max(final Board board, final int depth, final int highest, final int lowest) {
+        checkCancelled();
+        this.statistics.node();
+
+        if (depth == 0 || isEndGameScenario(board)) {
+            this.boardsEvaluated++;
+            return this.boardEvaluator.evaluate(board, depth, highest, lowest);
+        }
+
+        int currentHighest = highest;
+        int movesSearched = 0;
+        for (final Move move : sortMoves(board.currentPlayer().getLegalMoves())) {
+            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            if (moveTransition.getMoveStatus().isDone()) {
+                movesSearched++;
+                currentHighest = Math.max(currentHighest, min(moveTransition.getTransitionBoard(), depth - 1, currentHighest, lowest));
+                if (currentHighest >= lowest) {
+                    this.statistics.betaCutoff(movesSearched);
+                    return lowest;
+                }
+            }
+        }
+
+        // no legal move and not mated
+        return movesSearched == 0 ? STALEMATE_SCORE : currentHighest;
+    }
+
+    public int min(final Board board, final int depth, final int highest, final int lowest) {
+        checkCancelled();
+        this.statistics.node();
+
+        if (depth == 0 || isEndGameScenario(board)) {
+            this.boardsEvaluated++;
+            return this.boardEvaluator.evaluate(board, depth, highest, lowest);
+        }
+
+        int currentLowest = lowest;
+        int movesSearched = 0;
+        for (final Move move : sortMoves(board.currentPlayer().getLegalMoves())) {
+            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            if (moveTransition.getMoveStatus().isDone()) {
+                movesSearched++;
+                currentLowest = Math.min(currentLowest, max(moveTransition.getTransitionBoard(), depth - 1, highest, currentLowest));
+                if (currentLowest <= highest) {
+                    this.statistics.betaCutoff(movesSearched);
+                    return highest;
+                }
+            }
+        }
+
+        return movesSearched == 0 ? STALEMATE_SCORE : currentLowest;
+    }
+
+    private void checkCancelled() {
+        if (this.cancellationToken.isCancelled()) {
+            throw SearchCancelledException.INSTANCE;
+        }
+    }
+
+    // captures first, most valuable victim / least valuable attacker
+    private static Collection<Move> sortMoves(final Collection<Move> moves) {
+        return Ordering.from(Comparator.comparingInt(StockAlphaBeta::captureScore).reversed()).immutableSortedCopy(moves);
+    }
+
+    private static int captureScore(final Move move) {
+        return move.isAttack() ? 10 * move.getAttackedPiece().getPieceValue() - move.getMovedPiece().getPieceValue() : Integer.MIN_VALUE;
+    }
+
+    private static boolean isEndGameScenario(final Board board) {
+        return board.currentPlayer().isInCheckMate() || board.currentPlayer().getOpponent().isInCheckMate();
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Move;
+
+import java.util.concurrent.TimeUnit;
+
+// turns the clock into a soft limit (no new iteration after it) and a hard limit (the search is cancelled)
+public final class TimeManager {
+
+    private static final long MOVE_OVERHEAD_MILLIS = 30;
+    private static final long MIN_THINK_MILLIS = 10;
+    private static final int DEFAULT_MOVES_TO_GO = 30;
+    private static final int HARD_LIMIT_FACTOR = 5;
+    private static final int SCORE_DROP = 30;
+
+    private final CancellationToken cancellationToken;
+
+    private boolean limited;
+    private long startNanos;
+    private long softLimitNanos;
+    private long hardLimitNanos;
+
+    private Move previousBestMove;
+    private int previousScore;
+    private int stableIterations;
+
+    // movesToGo of 0 means sudden death, with or without an increment
+    public TimeManager(final long remainingMillis, final long incrementMillis, final int movesToGo) {
+        this(new CancellationToken());
+        startClock(remainingMillis, incrementMillis, movesToGo);
+    }
+
+    private TimeManager(final CancellationToken cancellationToken) {
+        this.cancellationToken = cancellationToken;
+        this.limited = false;
+        this.startNanos = System.nanoTime();
+    }
+
+    // searches until cancelled, as when pondering
+    public static TimeManager unlimited() {
+        return new TimeManager(new CancellationToken());
+    }
+
+    public static TimeManager unlimited(final CancellationToken cancellationToken) {
+        return new TimeManager(cancellationToken);
+    }
+
+    public CancellationToken getCancellationToken() {
+        return this.cancellationToken;
+    }
+
+    // (re)starts the clock now, which is how a ponder search takes over the real move's budget
+    public synchronized void startClock(final long remainingMillis, final long incrementMillis, final int movesToGo) {
+        final long available = Math.max(0, remainingMillis - MOVE_OVERHEAD_MILLIS);
+        final int movesLeft = movesToGo > 0 ? movesToGo : DEFAULT_MOVES_TO_GO;
+
+        final long hardLimit = Math.max(MIN_THINK_MILLIS,
+                Math.min(available * 4 / 5, (available / movesLeft + incrementMillis) * HARD_LIMIT_FACTOR));
+        final long softLimit = Math.max(MIN_THINK_MILLIS,
+                Math.min(hardLimit, available / movesLeft + incrementMillis * 3 / 4));
+
+        this.limited = true;
+        this.startNanos = System.nanoTime();
+        this.softLimitNanos = TimeUnit.MILLISECONDS.toNanos(softLimit);
+        this.hardLimitNanos = TimeUnit.MILLISECONDS.toNanos(hardLimit);
+        this.cancellationToken.setDeadline(this.startNanos + this.hardLimitNanos);
+    }
+
+    public synchronized void startClock(final TimeManager clock) {
+        this.limited = clock.limited;
+        this.startNanos = System.nanoTime();
+        this.softLimitNanos = clock.softLimitNanos;
+        this.hardLimitNanos = clock.hardLimitNanos;
+        if (this.limited) {
+            this.cancellationToken.setDeadline(this.startNanos + this.hardLimitNanos);
+        }
+    }
+
+    // called after every completed iteration; stable best moves shrink the budget, changes and score drops stretch it
+    public synchronized boolean shouldStartIteration(final Move bestMove, final int score) {
+        final boolean bestMoveChanged = this.previousBestMove != null && !this.previousBestMove.equals(bestMove);
+        final boolean scoreDropped = this.previousBestMove != null && this.previousScore - score > SCORE_DROP;
+        this.stableIterations = bestMoveChanged ? 0 : this.stableIterations + 1;
+        this.previousBestMove = bestMove;
+        this.previousScore = score;
+
+        if (this.cancellationToken.isCancelled()) {
+            return false;
+        }
+        if (!this.limited) {
+            return true;
+        }
+
+        int scalePercent = bestMoveChanged ? 150 : Math.max(50, 110 - 10 * this.stableIterations);
+        if (scoreDropped) {
+            scalePercent += 50;
+        }
+        final long budget = Math.min(this.hardLimitNanos, this.softLimitNanos * scalePercent / 100);
+        return System.nanoTime() - this.startNanos < budget;
+    }
+
+    public synchronized long getSoftLimitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.softLimitNanos);
+    }
+
+    public synchronized long getHardLimitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.hardLimitNanos);
+    }
+
+    public synchronized long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.startNanos);
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+
+// strategies that deepen iteratively and can be stopped, so a clock can drive them instead of a fixed depth
+public interface TimedMoveStrategy extends MoveStrategy {
+
+    Move execute(Board board, TimeManager timeManager, SearchListener listener);
+
+    default Move execute(final Board board, final TimeManager timeManager) {
+        return execute(board, timeManager, SearchListener.NONE);
+    }
+
+}
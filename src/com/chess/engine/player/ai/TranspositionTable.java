@@ -0,0 +1,146 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public final class TranspositionTable {
+
+    public static final int DEFAULT_SIZE = 1 << 20;
+
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    public static final int NO_MOVE = -1;
+
+    private static final long SCORE_MASK = 0xFFFFFFFFL;
+    private static final int DEPTH_SHIFT = 32;
+    private static final long DEPTH_MASK = 0xFFL;
+    private static final int BOUND_SHIFT = 40;
+    private static final long BOUND_MASK = 0x3L;
+    private static final int MOVE_SHIFT = 42;
+    private static final long MOVE_MASK = 0x7FFFL;
+
+    private final int indexMask;
+
+    // lockless hashing as in CachingBoardEvaluator: keys hold (hash ^ data)
+    private final AtomicLongArray keys;
+    private final AtomicLongArray data;
+
+    public TranspositionTable() {
+        this(DEFAULT_SIZE);
+    }
+
+    public TranspositionTable(final int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("table size must be positive: " + size);
+        }
+        final int capacity = Integer.highestOneBit(size) == size ? size : Integer.highestOneBit(size) << 1;
+        this.indexMask = capacity - 1;
+        this.keys = new AtomicLongArray(capacity);
+        this.data = new AtomicLongArray(capacity);
+    }
+
+    // returns the packed entry for this position, or 0 when there is none
+    public long probe(final long hash) {
+        final int index = index(hash);
+        final long entry = this.data.getOpaque(index);
+        if (entry != 0 && (this.keys.getOpaque(index) ^ entry) == hash) {
+            return entry;
+        }
+        return 0L;
+    }
+
+    public void store(final long hash, final int score, final int depth, final int bound, final int move) {
+        final int index = index(hash);
+        final long existing = this.data.getOpaque(index);
+        final boolean samePosition = existing != 0 && (this.keys.getOpaque(index) ^ existing) == hash;
+
+        // keep deeper results for the same position, anything else is simply replaced
+        if (samePosition && depth(existing) > depth && bound != EXACT) {
+            return;
+        }
+
+        final int storedMove = move == NO_MOVE && samePosition ? move(existing) : move;
+        final long entry = (score & SCORE_MASK) |
+                ((Math.min(depth, (int) DEPTH_MASK) & DEPTH_MASK) << DEPTH_SHIFT) |
+                ((bound & BOUND_MASK) << BOUND_SHIFT) |
+                (((storedMove + 1) & MOVE_MASK) << MOVE_SHIFT);
+
+        this.keys.setOpaque(index, hash ^ entry);
+        this.data.setOpaque(index, entry);
+    }
+
+    public void clear() {
+        for (int i = 0; i <= this.indexMask; i++) {
+            this.keys.setOpaque(i, 0L);
+            this.data.setOpaque(i, 0L);
+        }
+    }
+
+    public int getSize() {
+        return this.indexMask + 1;
+    }
+
+    public static int score(final long entry) {
+        return (int) (entry & SCORE_MASK);
+    }
+
+    public static int depth(final long entry) {
+        return (int) ((entry >>> DEPTH_SHIFT) & DEPTH_MASK);
+    }
+
+    public static int bound(final long entry) {
+        return (int) ((entry >>> BOUND_SHIFT) & BOUND_MASK);
+    }
+
+    public static int move(final long entry) {
+        return (int) ((entry >>> MOVE_SHIFT) & MOVE_MASK) - 1;
+    }
+
+    // from and to squares, plus the piece for underpromotions so the four promotions of one pawn stay apart
+    public static int encodeMove(final Move move) {
+        final int encodedMove = (move.getCurrentCoordinate() << 6) | move.getDestinationCoordinate();
+        if (move instanceof Move.PawnPromotionMove) {
+            return encodedMove | (underpromotionIndex(((Move.PawnPromotionMove) move).getPromotionType()) << 12);
+        }
+        return encodedMove;
+    }
+
+    private static int underpromotionIndex(final Piece.PieceType promotionType) {
+        switch (promotionType) {
+            case ROOK:
+                return 1;
+            case BISHOP:
+                return 2;
+            case KNIGHT:
+                return 3;
+            default:
+                return 0;
+        }
+    }
+
+    public static boolean matches(final Move move, final int encodedMove) {
+        return encodedMove != NO_MOVE && encodeMove(move) == encodedMove;
+    }
+
+    public static Move decodeMove(final Board board, final int encodedMove) {
+        if (encodedMove == NO_MOVE) {
+            return null;
+        }
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            if (matches(move, encodedMove)) {
+                return move;
+            }
+        }
+        return null;
+    }
+
+    private int index(final long hash) {
+        return (int) (hash ^ (hash >>> 32)) & this.indexMask;
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.chess.engine.player.ai;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// only loaded reflectively by EvaluationKernels.create() once the incubator module is known to be present
+final class VectorEvaluationKernels implements EvaluationKernels {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public int dot(final int[] features, final int[] weights, final int length) {
+        final int bound = SPECIES.loopBound(length);
+        IntVector sums = IntVector.zero(SPECIES);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            sums = IntVector.fromArray(SPECIES, features, i)
+                    .mul(IntVector.fromArray(SPECIES, weights, i))
+                    .add(sums);
+        }
+        // int lanes wrap the same way the scalar loop does, so the result is bit-exact
+        int sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += features[i] * weights[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public String toString() {
+        return "vector(" + SPECIES.vectorBitSize() + " bit)";
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.chess.engine.player.ai.nnue;
+
+import com.chess.engine.Alliance;
+
+final class Accumulator {
+
+    // one half per perspective, indexed by Alliance ordinal
+    final short[][] values;
+
+    Accumulator(final int hiddenSize) {
+        this.values = new short[Alliance.values().length][hiddenSize];
+    }
+
+    short[] forPerspective(final Alliance perspective) {
+        return this.values[perspective.ordinal()];
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.chess.engine.player.ai.nnue;
+
+import com.chess.engine.player.ai.EvaluationKernels;
+
+public interface NetworkKernels {
+
+    void addFeature(short[] accumulator, short[] featureWeights, int offset);
+
+    void subtractFeature(short[] accumulator, short[] featureWeights, int offset);
+
+    // clamps the accumulator to [0, 127] and narrows it into the layer input starting at outputOffset
+    void clippedRelu(short[] accumulator, byte[] output, int outputOffset);
+
+    int dot(byte[] input, byte[] weights, int weightsOffset, int length);
+
+    static NetworkKernels create() {
+        if (EvaluationKernels.isVectorApiAvailable()) {
+            try {
+                return (NetworkKernels) Class.forName("com.chess.engine.player.ai.nnue.VectorNetworkKernels")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (final ReflectiveOperationException | LinkageError e) {
+                return new ScalarNetworkKernels();
+            }
+        }
+        return new ScalarNetworkKernels();
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.chess.engine.player.ai.nnue;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public final class NetworkWeights {
+
+    static final int MAGIC = 0x4A434E4E; // "JCNN"
+    static final int VERSION = 1;
+
+    // 64 king squares x (5 piece types x 2 colours x 64 squares), the king itself is not a feature
+    static final int FEATURES_PER_KING_SQUARE = 5 * 2 * 64;
+    static final int NUM_FEATURES = 64 * FEATURES_PER_KING_SQUARE;
+
+    final int hiddenSize;
+    final int firstLayerSize;
+    final int secondLayerSize;
+
+    final short[] featureBiases;
+    final short[] featureWeights;
+    final int[] firstLayerBiases;
+    final byte[] firstLayerWeights;
+    final int[] secondLayerBiases;
+    final byte[] secondLayerWeights;
+    final int outputBias;
+    final byte[] outputWeights;
+
+    private NetworkWeights(final MappedByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC) {
+            throw new RuntimeException("not a network file");
+        }
+        final int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new RuntimeException("unsupported network version " + version);
+        }
+        this.hiddenSize = buffer.getInt();
+        this.firstLayerSize = buffer.getInt();
+        this.secondLayerSize = buffer.getInt();
+        if (this.hiddenSize <= 0 || this.firstLayerSize <= 0 || this.secondLayerSize <= 0) {
+            throw new RuntimeException("invalid network dimensions");
+        }
+
+        this.featureBiases = readShorts(buffer, this.hiddenSize);
+        this.featureWeights = readShorts(buffer, NUM_FEATURES * this.hiddenSize);
+        this.firstLayerBiases = readInts(buffer, this.firstLayerSize);
+        this.firstLayerWeights = readBytes(buffer, this.firstLayerSize * 2 * this.hiddenSize);
+        this.secondLayerBiases = readInts(buffer, this.secondLayerSize);
+        this.secondLayerWeights = readBytes(buffer, this.secondLayerSize * this.firstLayerSize);
+        this.outputBias = buffer.getInt();
+        this.outputWeights = readBytes(buffer, this.secondLayerSize);
+
+        if (buffer.hasRemaining()) {
+            throw new RuntimeException("trailing bytes in network file");
+        }
+    }
+
+    public static NetworkWeights load(final Path path) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return new NetworkWeights(buffer);
+        }
+    }
+
+    public int getHiddenSize() {
+        return this.hiddenSize;
+    }
+
+    private static short[] readShorts(final MappedByteBuffer buffer, final int count) {
+        final short[] values = new short[count];
+        buffer.asShortBuffer().get(values);
+        buffer.position(buffer.position() + count * Short.BYTES);
+        return values;
+    }
+
+    private static int[] readInts(final MappedByteBuffer buffer, final int count) {
+        final int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return values;
+    }
+
+    private static byte[] readBytes(final MappedByteBuffer buffer, final int count) {
+        final byte[] values = new byte[count];
+        buffer.get(values);
+        return values;
+    }
+
+}
@@ -0,0 +1,240 @@
+package com.chess.engine.player.ai.nnue;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.player.ai.BoardEvaluator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+public final class NeuralBoardEvaluator implements BoardEvaluator {
+
+    private static final int CHECK_MATE_SCORE = 1000000;
+    private static final int WEIGHT_SCALE_BITS = 6;
+    private static final int OUTPUT_SCALE = 16;
+
+    // how far back along the transition moves we walk before giving up and refreshing from scratch
+    private static final int MAX_INCREMENTAL_PLIES = 64;
+
+    private final NetworkWeights weights;
+    private final NetworkKernels kernels;
+
+    // boards do not override equals/hashCode, so this is an identity map that drops boards once the search lets go of them
+    private final ThreadLocal<Map<Board, Accumulator>> accumulators;
+    private final ThreadLocal<LayerBuffers> layerBuffers;
+
+    public NeuralBoardEvaluator(final NetworkWeights weights) {
+        this(weights, NetworkKernels.create());
+    }
+
+    public NeuralBoardEvaluator(final NetworkWeights weights, final NetworkKernels kernels) {
+        this.weights = weights;
+        this.kernels = kernels;
+        this.accumulators = ThreadLocal.withInitial(WeakHashMap::new);
+        this.layerBuffers = ThreadLocal.withInitial(() -> new LayerBuffers(weights));
+    }
+
+    public static NeuralBoardEvaluator load(final Path networkFile) throws IOException {
+        return new NeuralBoardEvaluator(NetworkWeights.load(networkFile));
+    }
+
+    @Override
+    public int evaluate(final Board board, final int depth) {
+        if (board.currentPlayer().isInCheck() && board.currentPlayer().isInCheckMate()) {
+            final int mateScore = CHECK_MATE_SCORE * (depth + 1);
+            return board.currentPlayer().getAlliance().isWhite() ? -mateScore : mateScore;
+        }
+
+        final Alliance sideToMove = board.currentPlayer().getAlliance();
+        final int score = propagate(accumulatorFor(board), sideToMove) / OUTPUT_SCALE;
+
+        return sideToMove.isWhite() ? score : -score;
+    }
+
+    @Override
+    public String toString() {
+        return "NeuralBoardEvaluator(" + this.kernels + ")";
+    }
+
+    // copies of the accumulator as the incremental updates left it and as a refresh rebuilds it; they must never differ
+    public short[][] getAccumulator(final Board board) {
+        return copy(accumulatorFor(board));
+    }
+
+    public short[][] refreshAccumulator(final Board board) {
+        return copy(refresh(board));
+    }
+
+    private int propagate(final Accumulator accumulator, final Alliance sideToMove) {
+        final LayerBuffers buffers = this.layerBuffers.get();
+        final int hiddenSize = this.weights.hiddenSize;
+
+        this.kernels.clippedRelu(accumulator.forPerspective(sideToMove), buffers.input, 0);
+        this.kernels.clippedRelu(accumulator.forPerspective(sideToMove.getOpponentAlliance()), buffers.input, hiddenSize);
+
+        for (int i = 0; i < this.weights.firstLayerSize; i++) {
+            final int sum = this.weights.firstLayerBiases[i] +
+                    this.kernels.dot(buffers.input, this.weights.firstLayerWeights, i * 2 * hiddenSize, 2 * hiddenSize);
+            buffers.firstLayer[i] = clip(sum >> WEIGHT_SCALE_BITS);
+        }
+
+        for (int i = 0; i < this.weights.secondLayerSize; i++) {
+            final int sum = this.weights.secondLayerBiases[i] +
+                    this.kernels.dot(buffers.firstLayer, this.weights.secondLayerWeights, i * this.weights.firstLayerSize, this.weights.firstLayerSize);
+            buffers.secondLayer[i] = clip(sum >> WEIGHT_SCALE_BITS);
+        }
+
+        return this.weights.outputBias + this.kernels.dot(buffers.secondLayer, this.weights.outputWeights, 0, this.weights.secondLayerSize);
+    }
+
+    private Accumulator accumulatorFor(final Board board) {
+        final Map<Board, Accumulator> cache = this.accumulators.get();
+
+        final Accumulator cached = cache.get(board);
+        if (cached != null) {
+            return cached;
+        }
+
+        // walk back along the transition moves until we reach a board whose accumulator is known
+        final List<Board> pending = new ArrayList<>();
+        Board current = board;
+        Accumulator accumulator = null;
+        while (current != null && pending.size() < MAX_INCREMENTAL_PLIES) {
+            accumulator = cache.get(current);
+            if (accumulator != null) {
+                break;
+            }
+            pending.add(current);
+            final Move transitionMove = current.getTransitionMove();
+            current = transitionMove != null ? transitionMove.getBoard() : null;
+        }
+
+        int index = pending.size() - 1;
+        if (accumulator == null) {
+            final Board oldest = pending.get(index--);
+            accumulator = refresh(oldest);
+            cache.put(oldest, accumulator);
+        }
+
+        for (; index >= 0; index--) {
+            final Board next = pending.get(index);
+            accumulator = update(accumulator, next.getTransitionMove(), next);
+            cache.put(next, accumulator);
+        }
+
+        return accumulator;
+    }
+
+    private Accumulator refresh(final Board board) {
+        final Accumulator accumulator = new Accumulator(this.weights.hiddenSize);
+        for (final Alliance perspective : Alliance.values()) {
+            refreshPerspective(board, perspective, accumulator.forPerspective(perspective));
+        }
+        return accumulator;
+    }
+
+    private void refreshPerspective(final Board board, final Alliance perspective, final short[] values) {
+        System.arraycopy(this.weights.featureBiases, 0, values, 0, values.length);
+        final int kingPosition = perspectiveKing(board, perspective);
+        for (final Piece piece : board.getAllPieces()) {
+            if (!piece.getPieceType().isKing()) {
+                this.kernels.addFeature(values, this.weights.featureWeights, featureOffset(perspective, kingPosition, piece));
+            }
+        }
+    }
+
+    private Accumulator update(final Accumulator parent, final Move move, final Board board) {
+        final Accumulator accumulator = new Accumulator(this.weights.hiddenSize);
+        final Piece movedPiece = move.getMovedPiece();
+
+        for (final Alliance perspective : Alliance.values()) {
+            final short[] values = accumulator.forPerspective(perspective);
+
+            // a king move changes every feature of its own perspective
+            if (movedPiece != null && movedPiece.getPieceType().isKing() && movedPiece.getPieceAlliance() == perspective) {
+                refreshPerspective(board, perspective, values);
+                continue;
+            }
+
+            System.arraycopy(parent.forPerspective(perspective), 0, values, 0, values.length);
+            if (movedPiece == null) {
+                continue;
+            }
+
+            final int kingPosition = perspectiveKing(board, perspective);
+            subtractPiece(values, perspective, kingPosition, movedPiece);
+            if (move.isAttack()) {
+                subtractPiece(values, perspective, kingPosition, move.getAttackedPiece());
+            }
+            addPiece(values, perspective, kingPosition, board.getTile(move.getDestinationCoordinate()).getPiece());
+
+            if (move instanceof Move.CastleMove castleMove) {
+                subtractPiece(values, perspective, kingPosition, castleMove.getCastleRook());
+                addPiece(values, perspective, kingPosition, board.getTile(castleMove.getCastleRookDestinationCoordinate()).getPiece());
+            }
+        }
+
+        return accumulator;
+    }
+
+    private void addPiece(final short[] values, final Alliance perspective, final int kingPosition, final Piece piece) {
+        if (!piece.getPieceType().isKing()) {
+            this.kernels.addFeature(values, this.weights.featureWeights, featureOffset(perspective, kingPosition, piece));
+        }
+    }
+
+    private void subtractPiece(final short[] values, final Alliance perspective, final int kingPosition, final Piece piece) {
+        if (!piece.getPieceType().isKing()) {
+            this.kernels.subtractFeature(values, this.weights.featureWeights, featureOffset(perspective, kingPosition, piece));
+        }
+    }
+
+    private int featureOffset(final Alliance perspective, final int kingPosition, final Piece piece) {
+        final int pieceIndex = piece.getPieceType().ordinal() * 2 + (piece.getPieceAlliance() == perspective ? 0 : 1);
+        final int feature = orient(perspective, kingPosition) * NetworkWeights.FEATURES_PER_KING_SQUARE +
+                pieceIndex * 64 + orient(perspective, piece.getPiecePosition());
+        return feature * this.weights.hiddenSize;
+    }
+
+    private static int perspectiveKing(final Board board, final Alliance perspective) {
+        return perspective.isWhite() ? board.whitePlayer().getPlayerKing().getPiecePosition()
+                                     : board.blackPlayer().getPlayerKing().getPiecePosition();
+    }
+
+    // black sees the board mirrored vertically so both perspectives share the same weights
+    private static int orient(final Alliance perspective, final int position) {
+        return perspective.isWhite() ? position : position ^ 56;
+    }
+
+    private static short[][] copy(final Accumulator accumulator) {
+        final short[][] values = new short[accumulator.values.length][];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = accumulator.values[i].clone();
+        }
+        return values;
+    }
+
+    private static byte clip(final int value) {
+        return (byte) Math.max(0, Math.min(127, value));
+    }
+
+    private static final class LayerBuffers {
+
+        final byte[] input;
+        final byte[] firstLayer;
+        final byte[] secondLayer;
+
+        LayerBuffers(final NetworkWeights weights) {
+            this.input = new byte[2 * weights.hiddenSize];
+            this.firstLayer = new byte[weights.firstLayerSize];
+            this.secondLayer = new byte[weights.secondLayerSize];
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.chess.engine.player.ai.nnue;
+
+// public so callers and tests can pin the reference kernels whatever create() would pick
+public final class ScalarNetworkKernels implements NetworkKernels {
+
+    @Override
+    public void addFeature(final short[] accumulator, final short[] featureWeights, final int offset) {
+        for (int i = 0; i < accumulator.length; i++) {
+            accumulator[i] += featureWeights[offset + i];
+        }
+    }
+
+    @Override
+    public void subtractFeature(final short[] accumulator, final short[] featureWeights, final int offset) {
+        for (int i = 0; i < accumulator.length; i++) {
+            accumulator[i] -= featureWeights[offset + i];
+        }
+    }
+
+    @Override
+    public void clippedRelu(final short[] accumulator, final byte[] output, final int outputOffset) {
+        for (int i = 0; i < accumulator.length; i++) {
+            output[outputOffset + i] = (byte) Math.max(0, Math.min(127, accumulator[i]));
+        }
+    }
+
+    @Override
+    public int dot(final byte[] input, final byte[] weights, final int weightsOffset, final int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += input[i] * weights[weightsOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public String toString() {
+        return "scalar";
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.chess.engine.player.ai.nnue;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+// only loaded reflectively by NetworkKernels.create() once the incubator module is known to be present
+final class VectorNetworkKernels implements NetworkKernels {
+
+    private static final VectorSpecies<Short> SHORT_SPECIES = ShortVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> NARROW_BYTE_SPECIES =
+            VectorSpecies.of(byte.class, VectorShape.forBitSize(SHORT_SPECIES.vectorBitSize() / 2));
+
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> WIDE_BYTE_SPECIES =
+            VectorSpecies.of(byte.class, VectorShape.forBitSize(INT_SPECIES.vectorBitSize() / 4));
+
+    @Override
+    public void addFeature(final short[] accumulator, final short[] featureWeights, final int offset) {
+        final int bound = SHORT_SPECIES.loopBound(accumulator.length);
+        int i = 0;
+        for (; i < bound; i += SHORT_SPECIES.length()) {
+            ShortVector.fromArray(SHORT_SPECIES, accumulator, i)
+                    .add(ShortVector.fromArray(SHORT_SPECIES, featureWeights, offset + i))
+                    .intoArray(accumulator, i);
+        }
+        for (; i < accumulator.length; i++) {
+            accumulator[i] += featureWeights[offset + i];
+        }
+    }
+
+    @Override
+    public void subtractFeature(final short[] accumulator, final short[] featureWeights, final int offset) {
+        final int bound = SHORT_SPECIES.loopBound(accumulator.length);
+        int i = 0;
+        for (; i < bound; i += SHORT_SPECIES.length()) {
+            ShortVector.fromArray(SHORT_SPECIES, accumulator, i)
+                    .sub(ShortVector.fromArray(SHORT_SPECIES, featureWeights, offset + i))
+                    .intoArray(accumulator, i);
+        }
+        for (; i < accumulator.length; i++) {
+            accumulator[i] -= featureWeights[offset + i];
+        }
+    }
+
+    @Override
+    public void clippedRelu(final short[] accumulator, final byte[] output, final int outputOffset) {
+        final int bound = SHORT_SPECIES.loopBound(accumulator.length);
+        int i = 0;
+        for (; i < bound; i += SHORT_SPECIES.length()) {
+            ((ByteVector) ShortVector.fromArray(SHORT_SPECIES, accumulator, i)
+                    .max((short) 0)
+                    .min((short) 127)
+                    .convertShape(VectorOperators.S2B, NARROW_BYTE_SPECIES, 0))
+                    .intoArray(output, outputOffset + i);
+        }
+        for (; i < accumulator.length; i++) {
+            output[outputOffset + i] = (byte) Math.max(0, Math.min(127, accumulator[i]));
+        }
+    }
+
+    @Override
+    public int dot(final byte[] input, final byte[] weights, final int weightsOffset, final int length) {
+        final int bound = INT_SPECIES.loopBound(length);
+        IntVector sums = IntVector.zero(INT_SPECIES);
+        int i = 0;
+        for (; i < bound; i += INT_SPECIES.length()) {
+            final IntVector inputs = (IntVector) ByteVector.fromArray(WIDE_BYTE_SPECIES, input, i)
+                    .convertShape(VectorOperators.B2I, INT_SPECIES, 0);
+            final IntVector weightValues = (IntVector) ByteVector.fromArray(WIDE_BYTE_SPECIES, weights, weightsOffset + i)
+                    .convertShape(VectorOperators.B2I, INT_SPECIES, 0);
+            sums = sums.add(inputs.mul(weightValues));
+        }
+        // integer lanes wrap exactly like the scalar loop, so the reduction order does not change the result
+        int sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += input[i] * weights[weightsOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public String toString() {
+        return "vector(" + SHORT_SPECIES.vectorBitSize() + " bit)";
+    }
+
+}
@@ -8,7 +8,11 @@ import com.chess.engine.board.Tile;
 import com.chess.engine.pieces.*;
 import com.chess.engine.player.MoveStatus;
 import com.chess.engine.player.MoveTransition;
-import com.chess.engine.player.ai.MiniMax;
+import com.chess.engine.player.ai.Ponderer;
+import com.chess.engine.player.ai.PrincipalVariationSearch;
+import com.chess.engine.player.ai.TimeManager;
+import com.chess.pgn.PGNIngestionPipeline;
+import com.chess.pgn.PGNUtilities;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 
@@ -25,7 +29,7 @@ import java.util.concurrent.ExecutionException;
 
 public class Table {
 
-    private final MiniMax miniMax;
+    private final Ponderer ponderer;
     private final JFrame gameFrame;
     private final DragGlassPane dragGlassPane;
     private final GameHistoryPanel gameHistoryPanel;
@@ -40,6 +44,7 @@ public class Table {
     private Tile sourceTile;
     private Tile destinationTile;
     private Piece humanMovedPiece;
+    private long engineClockMillis;
 
     private final static Dimension OUTER_FRAME_DIMENSION = new Dimension(800, 600);
     private final static Dimension BOARD_PANEL_DIMENSION = new Dimension(400, 350);
@@ -48,6 +53,10 @@ public class Table {
     private final static Dimension TILE_PANEL_DIMENSION = new Dimension(10, 10);
     private final static Dimension END_GAME_DIALOG_WINDOW_DIMENSION = new Dimension(200, 100);
 
+    // the engine plays 5 minutes + 3 seconds a move
+    private final static long ENGINE_CLOCK_MILLIS = 5 * 60 * 1000;
+    private final static long ENGINE_INCREMENT_MILLIS = 3 * 1000;
+
     private final static int TILE_DRAWING_X_POSITION_ADJUSTMENT = 20;
     private final static int TILE_DRAWING_Y_POSITION_ADJUSTMENT = 10;
 
@@ -66,7 +75,8 @@ public class Table {
 
     public Table() {
 
-        this.miniMax = new MiniMax(4);
+        this.ponderer = new Ponderer(new PrincipalVariationSearch(4));
+        this.engineClockMillis = ENGINE_CLOCK_MILLIS;
         this.gameFrame = new JFrame("JChess");
         this.gameFrame.setLayout(new BorderLayout());
 
@@ -120,7 +130,34 @@ public class Table {
         openPGN.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                System.out.println("open up that pgn");
+                final JFileChooser chooser = new JFileChooser();
+                if (chooser.showOpenDialog(gameFrame) != JFileChooser.APPROVE_OPTION) {
+                    return;
+                }
+                final File pgnFile = chooser.getSelectedFile();
+                // imports into the local game store off the event thread
+                new SwingWorker<PGNIngestionPipeline.Report, Void>() {
+
+                    @Override
+                    protected PGNIngestionPipeline.Report doInBackground() throws Exception {
+                        return PGNUtilities.persistPGNFile(pgnFile);
+                    }
+
+                    @Override
+                    protected void done() {
+                        try {
+                            final PGNIngestionPipeline.Report report = get();
+                            JOptionPane.showMessageDialog(gameFrame, report.acceptedGames() + " games imported, " +
+                                    (report.rejectedGames() + report.malformedGames()) + " skipped", "Load PGN File",
+                                    JOptionPane.INFORMATION_MESSAGE);
+                        } catch (InterruptedException ex) {
+                            throw new RuntimeException(ex);
+                        } catch (ExecutionException ex) {
+                            JOptionPane.showMessageDialog(gameFrame, "Could not load " + pgnFile.getName() + ": " +
+                                    ex.getCause().getMessage(), "Load PGN File", JOptionPane.ERROR_MESSAGE);
+                        }
+                    }
+                }.execute();
             }
         });
         fileMenu.add(openPGN);
@@ -505,7 +542,10 @@ public class Table {
             restartButton.addActionListener(new ActionListener() {
                 @Override
                 public void actionPerformed(ActionEvent e) {
+                    // the engine would otherwise keep thinking about the finished game
+                    ponderer.stopPondering();
                     chessBoard = Board.createStandardBoard();
+                    engineClockMillis = ENGINE_CLOCK_MILLIS;
                     movelog.reset();
                     gameHistoryPanel.redo(movelog);
                     takenPiecesPanel.redo(movelog);
@@ -526,10 +566,10 @@ public class Table {
 
     }
 
-    private class StaleMateDialogWindow extends JDialog {
+    private class DrawDialogWindow extends JDialog {
 
-        public StaleMateDialogWindow() {
-            this.setTitle("Stalemate");
+        public DrawDialogWindow(final String title) {
+            this.setTitle(title);
             this.setSize(END_GAME_DIALOG_WINDOW_DIMENSION);
             this.setModal(true);
             this.setLayout(new FlowLayout());
@@ -539,7 +579,10 @@ public class Table {
             restartButton.addActionListener(new ActionListener() {
                 @Override
                 public void actionPerformed(ActionEvent e) {
+                    // the engine would otherwise keep thinking about the finished game
+                    ponderer.stopPondering();
                     chessBoard = Board.createStandardBoard();
+                    engineClockMillis = ENGINE_CLOCK_MILLIS;
                     movelog.reset();
                     gameHistoryPanel.redo(movelog);
                     takenPiecesPanel.redo(movelog);
@@ -560,6 +603,22 @@ public class Table {
 
     }
 
+    // checkmate first, since a mating move can also complete a repetition or the fifty moves
+    private boolean showGameOverDialog() {
+        if (chessBoard.getPlayer().isInCheckMate()) {
+            new CheckMateDialogWindow();
+        } else if (chessBoard.getPlayer().isInStaleMate()) {
+            new DrawDialogWindow("Stalemate");
+        } else if (chessBoard.isDrawByRepetition()) {
+            new DrawDialogWindow("Draw by threefold repetition");
+        } else if (chessBoard.isDrawByFiftyMoveRule()) {
+            new DrawDialogWindow("Draw by the fifty-move rule");
+        } else {
+            return false;
+        }
+        return true;
+    }
+
     private class BoardPanel extends JPanel {
 
         final List<TilePanel> boardTiles;
@@ -754,22 +813,16 @@ public class Table {
                 Point point = SwingUtilities.convertPoint(TilePanel.this, e.getPoint(), dragGlassPane);
                 destinationTile = chessBoard.getTile(dragGlassPane.determinePointTileId(point));
 
-                if (humanMovedPiece != null &&
-                        humanMovedPiece.getPieceType().equals(Piece.PieceType.PAWN) &&
-                        humanMovedPiece.getPieceAlliance().isPawnPromotionSquare(destinationTile.getTileCoordinate())) {
-
-                    final Move checkMove = Move.MoveFactory.createMove(chessBoard, sourceTile.getTileCoordinate(), destinationTile.getTileCoordinate());
-                    if(!(checkMove instanceof Move.NullMove)){
-                        Piece promotionPiece = new PawnPromotionDialogWindow(humanMovedPiece.getPieceAlliance(), destinationTile.getTileCoordinate()).getPromotionPiece();
-                        ((Pawn) humanMovedPiece).setPromotionPiece(promotionPiece);
-                    }
+                Move move = Move.MoveFactory.createMove(chessBoard, sourceTile.getTileCoordinate(), destinationTile.getTileCoordinate());
 
+                if (move instanceof Move.PawnPromotionMove) {
+                    final Piece promotionPiece = new PawnPromotionDialogWindow(humanMovedPiece.getPieceAlliance(), destinationTile.getTileCoordinate()).getPromotionPiece();
+                    // closing the dialog without a choice promotes to a queen
+                    move = Move.MoveFactory.createMove(chessBoard, sourceTile.getTileCoordinate(), destinationTile.getTileCoordinate(),
+                            promotionPiece != null ? promotionPiece.getPieceType() : Piece.PieceType.QUEEN);
                 }
 
 
-                final Move move = Move.MoveFactory.createMove(chessBoard, sourceTile.getTileCoordinate(), destinationTile.getTileCoordinate());
-
-
                 final MoveTransition transition = chessBoard.currentPlayer().makeMove(move);
                 if (transition.getMoveStatus().isDone()) {
                     chessBoard = transition.getTransitionBoard();
@@ -791,10 +844,8 @@ public class Table {
                     boardPanel.drawBoard(chessBoard);
                     validate();
 
-                    if (chessBoard.getPlayer().isInCheckMate()) {
-                        new CheckMateDialogWindow();
-                    } else if (chessBoard.getPlayer().isInStaleMate()) {
-                        new StaleMateDialogWindow();
+                    if (showGameOverDialog()) {
+                        return;
                     }
 
                     if(chessBoard.isAI()){
@@ -802,7 +853,10 @@ public class Table {
 
                             @Override
                             protected Move doInBackground() throws Exception {
-                                return miniMax.execute(chessBoard);
+                                final TimeManager timeManager = new TimeManager(engineClockMillis, ENGINE_INCREMENT_MILLIS, 0);
+                                final Move move = ponderer.search(chessBoard, timeManager);
+                                engineClockMillis = Math.max(0, engineClockMillis - timeManager.getElapsedMillis()) + ENGINE_INCREMENT_MILLIS;
+                                return move;
                             }
 
                             @Override
@@ -820,6 +874,9 @@ public class Table {
                                         whiteTakenPieces.redo(movelog, chessBoard);
                                         blackTakenPieces.redo(movelog, chessBoard);
                                         boardPanel.drawBoard(chessBoard);
+                                        if (!showGameOverDialog() && !chessBoard.isAI()) {
+                                            ponderer.startPondering(chessBoard);
+                                        }
                                     }
                                 } catch (InterruptedException ex) {
                                     throw new RuntimeException(ex);
@@ -0,0 +1,51 @@
+package com.chess.pgn;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+
+// one test position of an EPD suite: the board and the bm (best move) and am (avoid move) opcodes it is graded by
+public final class EPDPosition {
+
+    private final String id;
+    private final Board board;
+    private final ImmutableList<Move> bestMoves;
+    private final ImmutableList<Move> avoidMoves;
+
+    EPDPosition(final String id,
+                final Board board,
+                final ImmutableList<Move> bestMoves,
+                final ImmutableList<Move> avoidMoves) {
+        this.id = id;
+        this.board = board;
+        this.bestMoves = bestMoves;
+        this.avoidMoves = avoidMoves;
+    }
+
+    public String getId() {
+        return this.id;
+    }
+
+    public Board getBoard() {
+        return this.board;
+    }
+
+    public ImmutableList<Move> getBestMoves() {
+        return this.bestMoves;
+    }
+
+    public ImmutableList<Move> getAvoidMoves() {
+        return this.avoidMoves;
+    }
+
+    // any of the best moves when there are some, and none of the moves to avoid
+    public boolean isSolvedBy(final Move move) {
+        return move != null && (this.bestMoves.isEmpty() || this.bestMoves.contains(move)) && !this.avoidMoves.contains(move);
+    }
+
+    @Override
+    public String toString() {
+        return this.id;
+    }
+
+}
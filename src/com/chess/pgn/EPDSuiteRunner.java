@@ -0,0 +1,211 @@
+package com.chess.pgn;
+
+import com.chess.engine.board.AlgebraicNotation;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.ai.CancellationToken;
+import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.ai.PrincipalVariationSearch;
+import com.chess.engine.player.ai.SearchListener;
+import com.google.common.collect.ImmutableList;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// solves the positions of an EPD suite on a thread pool; every position gets a fresh strategy, so results do not
+// depend on which positions a thread searched before. Depth is the strategy's own, time is capped per position
+public final class EPDSuiteRunner {
+
+    private static final int DEFAULT_SEARCH_DEPTH = 64;
+    private static final long DEFAULT_TIME_LIMIT_MILLIS = 1000;
+
+    private final Supplier<MoveStrategy> strategyFactory;
+    private final long timeLimitMillis;
+    private final int workerCount;
+
+    private EPDSuiteRunner(final Builder builder) {
+        this.strategyFactory = builder.strategyFactory;
+        this.timeLimitMillis = builder.timeLimitMillis;
+        this.workerCount = builder.workerCount;
+    }
+
+    // usage: EPDSuiteRunner suite.epd [millis per position] [threads]
+    public static void main(final String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("usage: EPDSuiteRunner suite.epd [millis per position] [threads]");
+            return;
+        }
+        final Builder builder = new Builder();
+        if (args.length > 1) {
+            builder.setTimeLimitMillis(Long.parseLong(args[1]));
+        }
+        if (args.length > 2) {
+            builder.setWorkerCount(Integer.parseInt(args[2]));
+        }
+        final Report report = builder.build().run(EPDUtilities.readEPDFile(new File(args[0])));
+        for (final Result result : report.results()) {
+            System.out.println(result);
+        }
+        System.out.println(report);
+    }
+
+    public Report run(final List<EPDPosition> positions) throws IOException {
+        final long startNanos = System.nanoTime();
+        final Result[] results = new Result[positions.size()];
+        final AtomicInteger nextPosition = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(this.workerCount, runnable -> {
+            final Thread thread = new Thread(runnable, "epd-suite");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<?>> workers = new ArrayList<>(this.workerCount);
+            for (int i = 0; i < this.workerCount; i++) {
+                workers.add(executor.submit(() -> {
+                    int index;
+                    while ((index = nextPosition.getAndIncrement()) < positions.size()) {
+                        results[index] = solve(positions.get(index));
+                    }
+                }));
+            }
+            for (final Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("EPD suite interrupted", e);
+        } catch (final ExecutionException e) {
+            throw new IOException("EPD suite failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Report(ImmutableList.copyOf(results), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    // the solution time is when the best move last became, and then stayed, a solving one; strategies that report
+    // no iterations only have their total time
+    private Result solve(final EPDPosition position) {
+        final MoveStrategy strategy = this.strategyFactory.get();
+        final CancellationToken cancellationToken = new CancellationToken();
+        final long startNanos = System.nanoTime();
+        if (this.timeLimitMillis > 0) {
+            cancellationToken.setDeadline(startNanos + TimeUnit.MILLISECONDS.toNanos(this.timeLimitMillis));
+        }
+        final long[] solvedNanos = {-1};
+        final SearchListener listener = progress -> {
+            if (!position.isSolvedBy(progress.getBestMove())) {
+                solvedNanos[0] = -1;
+            } else if (solvedNanos[0] < 0) {
+                solvedNanos[0] = System.nanoTime() - startNanos;
+            }
+        };
+        final Move move = strategy.execute(position.getBoard(), cancellationToken, listener);
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        final boolean solved = position.isSolvedBy(move);
+        return new Result(position, move, solved,
+                solved ? TimeUnit.NANOSECONDS.toMillis(solvedNanos[0] >= 0 ? solvedNanos[0] : elapsedNanos) : -1,
+                nodes(strategy), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    // searched nodes where the strategy publishes statistics, evaluated boards where it does not
+    private static long nodes(final MoveStrategy strategy) {
+        final long nodes = strategy.getSearchStatistics().totalNodes();
+        return nodes > 0 ? nodes : strategy.getNumBoardsEvaluated();
+    }
+
+    // timeToSolutionMillis is -1 for an unsolved position
+    public record Result(EPDPosition position, Move move, boolean solved, long timeToSolutionMillis, long nodes,
+                         long elapsedMillis) {
+
+        @Override
+        public String toString() {
+            return (this.solved ? "solved   " : "unsolved ") + this.position.getId() + " " +
+                    (this.move == null || this.move == Move.NULL_MOVE ? "-" : AlgebraicNotation.toSan(this.position.getBoard(), this.move)) +
+                    (this.solved ? " in " + this.timeToSolutionMillis + "ms" : "") + " nodes " + this.nodes;
+        }
+
+    }
+
+    public record Report(ImmutableList<Result> results, long elapsedMillis) {
+
+        public int getSolved() {
+            int solved = 0;
+            for (final Result result : this.results) {
+                solved += result.solved() ? 1 : 0;
+            }
+            return solved;
+        }
+
+        public double getSolveRate() {
+            return this.results.isEmpty() ? 0 : (double) getSolved() / this.results.size();
+        }
+
+        public long getAverageTimeToSolutionMillis() {
+            long total = 0;
+            for (final Result result : this.results) {
+                total += result.solved() ? result.timeToSolutionMillis() : 0;
+            }
+            return total / Math.max(1, getSolved());
+        }
+
+        public long getNodes() {
+            long nodes = 0;
+            for (final Result result : this.results) {
+                nodes += result.nodes();
+            }
+            return nodes;
+        }
+
+        // over the wall clock, so it grows with the threads the suite ran on
+        public long getNodesPerSecond() {
+            return getNodes() * 1000 / Math.max(1, this.elapsedMillis);
+        }
+
+        @Override
+        public String toString() {
+            return "solved " + getSolved() + "/" + this.results.size() +
+                    String.format(" (%.1f%%)", getSolveRate() * 100) +
+                    " average time to solution " + getAverageTimeToSolutionMillis() + "ms" +
+                    " nodes " + getNodes() + " nps " + getNodesPerSecond() +
+                    " elapsed " + this.elapsedMillis + "ms";
+        }
+
+    }
+
+    public static class Builder {
+
+        Supplier<MoveStrategy> strategyFactory = () -> new PrincipalVariationSearch(DEFAULT_SEARCH_DEPTH);
+        long timeLimitMillis = DEFAULT_TIME_LIMIT_MILLIS;
+        int workerCount = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+        // called once per position
+        public Builder setStrategyFactory(final Supplier<MoveStrategy> strategyFactory) {
+            this.strategyFactory = strategyFactory;
+            return this;
+        }
+
+        // 0 leaves the search to end at the strategy's own depth
+        public Builder setTimeLimitMillis(final long timeLimitMillis) {
+            this.timeLimitMillis = Math.max(0, timeLimitMillis);
+            return this;
+        }
+
+        public Builder setWorkerCount(final int workerCount) {
+            this.workerCount = Math.max(1, workerCount);
+            return this;
+        }
+
+        public EPDSuiteRunner build() {
+            return new EPDSuiteRunner(this);
+        }
+    }
+
+}
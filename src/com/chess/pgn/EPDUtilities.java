@@ -0,0 +1,117 @@
+package com.chess.pgn;
+
+import com.chess.engine.board.AlgebraicNotation;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+// EPD records: the first four FEN fields, then opcodes such as  bm Qxf7+; am Nc3; id "WAC.001";
+// opcodes other than bm, am and id are ignored
+public class EPDUtilities {
+
+    private EPDUtilities() {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    // blank lines and lines starting with # are skipped
+    public static ImmutableList<EPDPosition> readEPDFile(final File epdFile) throws IOException {
+        final ImmutableList.Builder<EPDPosition> positions = ImmutableList.builder();
+        int lineNumber = 0;
+        for (final String line : Files.readAllLines(epdFile.toPath(), StandardCharsets.UTF_8)) {
+            lineNumber++;
+            if (line.isBlank() || line.trim().startsWith("#")) {
+                continue;
+            }
+            try {
+                positions.add(parseEPD(line, epdFile.getName() + ":" + lineNumber));
+            } catch (final IllegalArgumentException e) {
+                throw new IOException(epdFile + ":" + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        return positions.build();
+    }
+
+    public static EPDPosition parseEPD(final String line) {
+        return parseEPD(line, null);
+    }
+
+    // positions without an id opcode are named by defaultId
+    private static EPDPosition parseEPD(final String line, final String defaultId) {
+        int position = 0;
+        for (int field = 0; field < 4; field++) {
+            position = skipSpaces(line, position);
+            while (position < line.length() && line.charAt(position) != ' ') {
+                position++;
+            }
+        }
+        final Board board = FenUtilities.createGameFromFEN(line.substring(0, position).trim() + " 0 1");
+
+        String id = defaultId;
+        final ImmutableList.Builder<Move> bestMoves = ImmutableList.builder();
+        final ImmutableList.Builder<Move> avoidMoves = ImmutableList.builder();
+        while ((position = skipSpaces(line, position)) < line.length()) {
+            final int end = operationEnd(line, position);
+            final String operation = line.substring(position, end).trim();
+            position = end + 1;
+            final int split = operation.indexOf(' ');
+            final String opcode = split < 0 ? operation : operation.substring(0, split);
+            final String operands = split < 0 ? "" : operation.substring(split + 1).trim();
+            switch (opcode) {
+                case "bm":
+                    resolveMoves(board, operands, bestMoves);
+                    break;
+                case "am":
+                    resolveMoves(board, operands, avoidMoves);
+                    break;
+                case "id":
+                    id = operands.replace("\"", "");
+                    break;
+                default:
+                    break;
+            }
+        }
+        final ImmutableList<Move> best = bestMoves.build();
+        final ImmutableList<Move> avoid = avoidMoves.build();
+        if (best.isEmpty() && avoid.isEmpty()) {
+            throw new IllegalArgumentException("No bm or am opcode in " + line);
+        }
+        return new EPDPosition(id != null ? id : line.substring(0, line.indexOf(' ')), board, best, avoid);
+    }
+
+    private static void resolveMoves(final Board board, final String operands, final ImmutableList.Builder<Move> moves) {
+        for (final String notation : operands.split(" +")) {
+            final Move move = AlgebraicNotation.resolve(board, notation);
+            if (move == Move.NULL_MOVE) {
+                throw new IllegalArgumentException("Unknown move " + notation);
+            }
+            moves.add(move);
+        }
+    }
+
+    // semicolons inside quoted operands do not end the operation
+    private static int operationEnd(final String line, int position) {
+        boolean quoted = false;
+        for (; position < line.length(); position++) {
+            final char c = line.charAt(position);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ';' && !quoted) {
+                break;
+            }
+        }
+        return position;
+    }
+
+    private static int skipSpaces(final String line, int position) {
+        while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+}
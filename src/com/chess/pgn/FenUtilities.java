@@ -0,0 +1,298 @@
+package com.chess.pgn;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.pieces.Bishop;
+import com.chess.engine.pieces.King;
+import com.chess.engine.pieces.Knight;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Queen;
+import com.chess.engine.pieces.Rook;
+
+public final class FenUtilities {
+
+    private static final int WHITE_KING_SIDE = 1;
+    private static final int WHITE_QUEEN_SIDE = 2;
+    private static final int BLACK_KING_SIDE = 4;
+    private static final int BLACK_QUEEN_SIDE = 8;
+
+    private static final int NO_SQUARE = -1;
+
+    private FenUtilities() {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    public static Board createGameFromFEN(final CharSequence fen) {
+        return createGameFromFEN(fen, 0, fen.length());
+    }
+
+    // parses fen[start, end) in place, so a caller holding a whole file in one buffer never copies a line out
+    public static Board createGameFromFEN(final CharSequence fen, final int start, final int end) {
+        final int placementEnd = nextSpace(fen, skipSpaces(fen, start, end), end);
+        final int sideStart = skipSpaces(fen, placementEnd, end);
+        final int sideEnd = nextSpace(fen, sideStart, end);
+        final int castlingStart = skipSpaces(fen, sideEnd, end);
+        final int castlingEnd = nextSpace(fen, castlingStart, end);
+        final int enPassantStart = skipSpaces(fen, castlingEnd, end);
+        final int enPassantEnd = nextSpace(fen, enPassantStart, end);
+        final int halfmoveStart = skipSpaces(fen, enPassantEnd, end);
+        final int halfmoveEnd = nextSpace(fen, halfmoveStart, end);
+        final int fullmoveStart = skipSpaces(fen, halfmoveEnd, end);
+        final int fullmoveEnd = nextSpace(fen, fullmoveStart, end);
+
+        if (sideEnd - sideStart != 1 || castlingStart == castlingEnd || enPassantStart == enPassantEnd) {
+            throw invalid(fen, start, end);
+        }
+
+        final Alliance moveMaker = parseMoveMaker(fen.charAt(sideStart), fen, start, end);
+        final int castlingRights = parseCastlingRights(fen, castlingStart, castlingEnd, start, end);
+        final int enPassantTarget = parseSquare(fen, enPassantStart, enPassantEnd, start, end);
+        // the pawn that just jumped sits one rank beyond the target square, seen from the side that moved it
+        final int enPassantPawnCoordinate = enPassantTarget == NO_SQUARE ? NO_SQUARE :
+                enPassantTarget + BoardUtils.NUM_TILES_PER_ROW * moveMaker.getOpponentAlliance().getDirection();
+
+        final Board.Builder builder = new Board.Builder();
+        int coordinate = 0;
+        int rankEnd = BoardUtils.NUM_TILES_PER_ROW;
+        int whiteKings = 0;
+        int blackKings = 0;
+        // every rank has to describe exactly eight squares, so a short rank never shifts the ones below it
+        for (int i = skipSpaces(fen, start, end); i < placementEnd; i++) {
+            final char c = fen.charAt(i);
+            if (c == '/') {
+                if (coordinate != rankEnd || rankEnd == BoardUtils.NUM_TILES) {
+                    throw invalid(fen, start, end);
+                }
+                rankEnd += BoardUtils.NUM_TILES_PER_ROW;
+                continue;
+            }
+            if (c >= '1' && c <= '8') {
+                coordinate += c - '0';
+                if (coordinate > rankEnd) {
+                    throw invalid(fen, start, end);
+                }
+                continue;
+            }
+            if (coordinate >= rankEnd) {
+                throw invalid(fen, start, end);
+            }
+            final Piece piece = createPiece(c, coordinate, castlingRights, fen, start, end);
+            builder.setPiece(piece);
+            if (piece.getPieceType() == Piece.PieceType.KING) {
+                if (piece.getPieceAlliance().isWhite()) {
+                    whiteKings++;
+                } else {
+                    blackKings++;
+                }
+            }
+            if (coordinate == enPassantPawnCoordinate && piece.getPieceType() == Piece.PieceType.PAWN) {
+                builder.setEnPassantPawn((Pawn) piece);
+            }
+            coordinate++;
+        }
+        // the board cannot build a player without its king
+        if (coordinate != BoardUtils.NUM_TILES || whiteKings != 1 || blackKings != 1) {
+            throw invalid(fen, start, end);
+        }
+
+        // the move counters are optional, EPD lines leave them out
+        builder.setMoveMaker(moveMaker);
+        builder.setHalfmoveClock(halfmoveStart == halfmoveEnd ? 0 : parseNumber(fen, halfmoveStart, halfmoveEnd, start, end));
+        builder.setFullmoveNumber(fullmoveStart == fullmoveEnd ? 1 : Math.max(1, parseNumber(fen, fullmoveStart, fullmoveEnd, start, end)));
+        return builder.build();
+    }
+
+    public static String createFENFromGame(final Board board) {
+        final StringBuilder builder = new StringBuilder(90);
+        appendPlacement(board, builder);
+        builder.append(' ').append(board.currentPlayer().getAlliance().isWhite() ? 'w' : 'b').append(' ');
+        appendCastlingRights(board, builder);
+        builder.append(' ');
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        if (enPassantPawn != null) {
+            builder.append(BoardUtils.getChessPositionAtAlgebraicCoordinate(enPassantPawn.getPiecePosition() -
+                    BoardUtils.NUM_TILES_PER_ROW * enPassantPawn.getPieceAlliance().getDirection()));
+        } else {
+            builder.append('-');
+        }
+        builder.append(' ').append(board.getHalfmoveClock());
+        builder.append(' ').append(board.getFullmoveNumber());
+        return builder.toString();
+    }
+
+    private static void appendPlacement(final Board board, final StringBuilder builder) {
+        int emptySquares = 0;
+        for (int coordinate = 0; coordinate < BoardUtils.NUM_TILES; coordinate++) {
+            if (coordinate > 0 && coordinate % BoardUtils.NUM_TILES_PER_ROW == 0) {
+                if (emptySquares > 0) {
+                    builder.append(emptySquares);
+                    emptySquares = 0;
+                }
+                builder.append('/');
+            }
+            final Piece piece = board.getTile(coordinate).getPiece();
+            if (piece == null) {
+                emptySquares++;
+                continue;
+            }
+            if (emptySquares > 0) {
+                builder.append(emptySquares);
+                emptySquares = 0;
+            }
+            final char symbol = piece.getPieceType().toString().charAt(0);
+            builder.append(piece.getPieceAlliance().isWhite() ? symbol : Character.toLowerCase(symbol));
+        }
+        if (emptySquares > 0) {
+            builder.append(emptySquares);
+        }
+    }
+
+    private static void appendCastlingRights(final Board board, final StringBuilder builder) {
+        final int length = builder.length();
+        if (board.hasCastlingRight(60, 63)) {
+            builder.append('K');
+        }
+        if (board.hasCastlingRight(60, 56)) {
+            builder.append('Q');
+        }
+        if (board.hasCastlingRight(4, 7)) {
+            builder.append('k');
+        }
+        if (board.hasCastlingRight(4, 0)) {
+            builder.append('q');
+        }
+        if (builder.length() == length) {
+            builder.append('-');
+        }
+    }
+
+    // kings and rooks keep isFirstMove only where a castling right still needs them, pawns on their home rank
+    private static Piece createPiece(final char symbol,
+                                     final int coordinate,
+                                     final int castlingRights,
+                                     final CharSequence fen,
+                                     final int start,
+                                     final int end) {
+        switch (symbol) {
+            case 'P':
+                return new Pawn(Alliance.WHITE, coordinate, BoardUtils.SECOND_RANK[coordinate]);
+            case 'p':
+                return new Pawn(Alliance.BLACK, coordinate, BoardUtils.SEVENTH_RANK[coordinate]);
+            case 'N':
+                return new Knight(Alliance.WHITE, coordinate, false);
+            case 'n':
+                return new Knight(Alliance.BLACK, coordinate, false);
+            case 'B':
+                return new Bishop(Alliance.WHITE, coordinate, false);
+            case 'b':
+                return new Bishop(Alliance.BLACK, coordinate, false);
+            case 'R':
+                return new Rook(Alliance.WHITE, coordinate,
+                        (coordinate == 63 && (castlingRights & WHITE_KING_SIDE) != 0) ||
+                        (coordinate == 56 && (castlingRights & WHITE_QUEEN_SIDE) != 0));
+            case 'r':
+                return new Rook(Alliance.BLACK, coordinate,
+                        (coordinate == 7 && (castlingRights & BLACK_KING_SIDE) != 0) ||
+                        (coordinate == 0 && (castlingRights & BLACK_QUEEN_SIDE) != 0));
+            case 'Q':
+                return new Queen(Alliance.WHITE, coordinate, false);
+            case 'q':
+                return new Queen(Alliance.BLACK, coordinate, false);
+            case 'K':
+                return new King(Alliance.WHITE, coordinate,
+                        coordinate == 60 && (castlingRights & (WHITE_KING_SIDE | WHITE_QUEEN_SIDE)) != 0);
+            case 'k':
+                return new King(Alliance.BLACK, coordinate,
+                        coordinate == 4 && (castlingRights & (BLACK_KING_SIDE | BLACK_QUEEN_SIDE)) != 0);
+            default:
+                throw invalid(fen, start, end);
+        }
+    }
+
+    private static Alliance parseMoveMaker(final char side, final CharSequence fen, final int start, final int end) {
+        if (side == 'w') {
+            return Alliance.WHITE;
+        }
+        if (side == 'b') {
+            return Alliance.BLACK;
+        }
+        throw invalid(fen, start, end);
+    }
+
+    private static int parseCastlingRights(final CharSequence fen,
+                                           final int from,
+                                           final int to,
+                                           final int start,
+                                           final int end) {
+        int rights = 0;
+        for (int i = from; i < to; i++) {
+            switch (fen.charAt(i)) {
+                case 'K':
+                    rights |= WHITE_KING_SIDE;
+                    break;
+                case 'Q':
+                    rights |= WHITE_QUEEN_SIDE;
+                    break;
+                case 'k':
+                    rights |= BLACK_KING_SIDE;
+                    break;
+                case 'q':
+                    rights |= BLACK_QUEEN_SIDE;
+                    break;
+                case '-':
+                    break;
+                default:
+                    throw invalid(fen, start, end);
+            }
+        }
+        return rights;
+    }
+
+    private static int parseSquare(final CharSequence fen, final int from, final int to, final int start, final int end) {
+        if (to - from == 1 && fen.charAt(from) == '-') {
+            return NO_SQUARE;
+        }
+        if (to - from != 2) {
+            throw invalid(fen, start, end);
+        }
+        final int file = fen.charAt(from) - 'a';
+        final int rank = fen.charAt(from + 1) - '1';
+        if (file < 0 || file > 7 || rank < 0 || rank > 7) {
+            throw invalid(fen, start, end);
+        }
+        return (7 - rank) * BoardUtils.NUM_TILES_PER_ROW + file;
+    }
+
+    private static int parseNumber(final CharSequence fen, final int from, final int to, final int start, final int end) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            final char c = fen.charAt(i);
+            if (c < '0' || c > '9' || value > 100_000) {
+                throw invalid(fen, start, end);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int skipSpaces(final CharSequence fen, int index, final int end) {
+        while (index < end && Character.isWhitespace(fen.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static int nextSpace(final CharSequence fen, int index, final int end) {
+        while (index < end && !Character.isWhitespace(fen.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static IllegalArgumentException invalid(final CharSequence fen, final int start, final int end) {
+        return new IllegalArgumentException("Invalid FEN: " + fen.subSequence(start, end));
+    }
+
+}
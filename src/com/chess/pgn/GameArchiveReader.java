@@ -0,0 +1,207 @@
+package com.chess.pgn;
+
+import com.chess.engine.board.AlgebraicNotation;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+// random access into a file written by GameArchiveWriter; games are rebuilt by replaying the move indexes,
+// no notation is parsed
+public final class GameArchiveReader implements Iterable<ReplayedGame>, Closeable {
+
+    private final FileChannel channel;
+    private final String[] dictionary;
+    private final long[] offsets;
+    private final long dictionaryOffset;
+
+    public GameArchiveReader(final File file) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        final long size = this.channel.size();
+        final ByteBuffer header = read(0, 2 * Integer.BYTES);
+        if (size < 2 * Integer.BYTES + GameArchiveWriter.TRAILER_SIZE || header.getInt() != GameArchiveWriter.MAGIC) {
+            throw new IOException(file + " is not a game archive");
+        }
+        if (header.getInt() != GameArchiveWriter.VERSION) {
+            throw new IOException(file + " was written by an incompatible version");
+        }
+        final ByteBuffer trailer = read(size - GameArchiveWriter.TRAILER_SIZE, GameArchiveWriter.TRAILER_SIZE);
+        this.dictionaryOffset = trailer.getLong();
+        final long indexOffset = trailer.getLong();
+        final int gameCount = trailer.getInt();
+        if (trailer.getInt() != GameArchiveWriter.MAGIC) {
+            throw new IOException(file + " is truncated");
+        }
+
+        final ByteBuffer dictionaryBuffer = read(this.dictionaryOffset, (int) (indexOffset - this.dictionaryOffset));
+        this.dictionary = new String[readVarint(dictionaryBuffer)];
+        for (int i = 0; i < this.dictionary.length; i++) {
+            final int length = readVarint(dictionaryBuffer);
+            this.dictionary[i] = new String(dictionaryBuffer.array(), dictionaryBuffer.position(), length, StandardCharsets.UTF_8);
+            dictionaryBuffer.position(dictionaryBuffer.position() + length);
+        }
+
+        final ByteBuffer indexBuffer = read(indexOffset, gameCount * Long.BYTES);
+        this.offsets = new long[gameCount];
+        for (int i = 0; i < gameCount; i++) {
+            this.offsets[i] = indexBuffer.getLong();
+        }
+    }
+
+    public int getGameCount() {
+        return this.offsets.length;
+    }
+
+    public ReplayedGame readGame(final int gameId) throws IOException {
+        final ByteBuffer buffer = gameBuffer(gameId);
+        final int tagCount = readVarint(buffer);
+        final Map<String, String> tags = new LinkedHashMap<>();
+        for (int i = 0; i < tagCount; i++) {
+            tags.put(this.dictionary[readVarint(buffer)], this.dictionary[readVarint(buffer)]);
+        }
+        final String outcome = GameArchiveWriter.OUTCOMES[buffer.get()];
+
+        final int plies = readVarint(buffer);
+        Board board = startingBoard(tags.get("FEN"));
+        final ImmutableList.Builder<Move> moveBuilder = ImmutableList.builder();
+        final long[] positionHashes = new long[plies + 1];
+        positionHashes[0] = board.getZobristHash();
+        for (int ply = 0; ply < plies; ply++) {
+            final Move move = nextMove(board, buffer);
+            moveBuilder.add(move);
+            board = move.execute();
+            positionHashes[ply + 1] = board.getZobristHash();
+        }
+        final ImmutableList<Move> moves = moveBuilder.build();
+        final Board finalBoard = board;
+        // writing SAN costs about as much as the replay itself, so only callers that read the notation pay for it
+        return new ReplayedGame(new PGNGame(this.offsets[gameId], ImmutableMap.copyOf(tags),
+                () -> toSan(moves, finalBoard), outcome), moves, positionHashes);
+    }
+
+    // receives every position of a game from replay(), the final one with a null move
+    interface PositionVisitor {
+        void visit(String outcome, int ply, long positionHash, Move move);
+    }
+
+    // walks a game's positions without building its tags, notation or move list, for bulk readers such as PositionIndex
+    void replay(final int gameId, final PositionVisitor visitor) throws IOException {
+        final ByteBuffer buffer = gameBuffer(gameId);
+        final int tagCount = readVarint(buffer);
+        String fen = null;
+        for (int i = 0; i < tagCount; i++) {
+            final String name = this.dictionary[readVarint(buffer)];
+            final int value = readVarint(buffer);
+            if (name.equals("FEN")) {
+                fen = this.dictionary[value];
+            }
+        }
+        final String outcome = GameArchiveWriter.OUTCOMES[buffer.get()];
+
+        final int plies = readVarint(buffer);
+        Board board = startingBoard(fen);
+        for (int ply = 0; ply < plies; ply++) {
+            final Move move = nextMove(board, buffer);
+            visitor.visit(outcome, ply, board.getZobristHash(), move);
+            board = move.execute();
+        }
+        visitor.visit(outcome, plies, board.getZobristHash(), null);
+    }
+
+    @Override
+    public Iterator<ReplayedGame> iterator() {
+        return new Iterator<ReplayedGame>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.next < getGameCount();
+            }
+
+            @Override
+            public ReplayedGame next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    return readGame(this.next++);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    private ByteBuffer gameBuffer(final int gameId) throws IOException {
+        final long offset = this.offsets[gameId];
+        final long end = gameId + 1 < this.offsets.length ? this.offsets[gameId + 1] : this.dictionaryOffset;
+        return read(offset, (int) (end - offset));
+    }
+
+    private static Board startingBoard(final String fen) {
+        return fen != null ? FenUtilities.createGameFromFEN(fen) : Board.createStandardBoard();
+    }
+
+    private static Move nextMove(final Board board, final ByteBuffer buffer) {
+        final List<Move> legalMoves = ImmutableList.copyOf(board.currentPlayer().getLegalMoves());
+        int index = buffer.get() & 0xFF;
+        if (legalMoves.size() > 256) {
+            index = (index << 8) | (buffer.get() & 0xFF);
+        }
+        return legalMoves.get(index);
+    }
+
+    // each move carries the board it was played from, the one after it is the next move's or the final board
+    private static ImmutableList<String> toSan(final ImmutableList<Move> moves, final Board finalBoard) {
+        final ImmutableList.Builder<String> notation = ImmutableList.builderWithExpectedSize(moves.size());
+        for (int ply = 0; ply < moves.size(); ply++) {
+            final Board transitionBoard = ply + 1 < moves.size() ? moves.get(ply + 1).getBoard() : finalBoard;
+            notation.add(AlgebraicNotation.toSan(moves.get(ply).getBoard(), moves.get(ply), transitionBoard));
+        }
+        return notation.build();
+    }
+
+    private ByteBuffer read(long position, final int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            final int read = this.channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of archive");
+            }
+            position += read;
+        }
+        return buffer.flip();
+    }
+
+    private static int readVarint(final ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.chess.pgn;
+
+import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// binary game archive:
+//   header     magic, version
+//   games      tag count, (name id, value id) per tag, outcome, ply count, then one byte per ply holding the
+//              move's index in the legal move list of the position (two bytes when that list is longer than 256)
+//   dictionary every distinct tag name and value once, referenced by id from the games
+//   index      offset of every game
+//   trailer    dictionary offset, index offset, game count, magic
+// move indexes depend on the move generator's order, so the version changes whenever that order does
+public final class GameArchiveWriter implements GameSink, Closeable {
+
+    static final int MAGIC = 0x43474131;
+    static final int VERSION = 1;
+    static final int TRAILER_SIZE = 2 * Long.BYTES + 2 * Integer.BYTES;
+
+    static final String[] OUTCOMES = {"*", "1-0", "0-1", "1/2-1/2"};
+
+    private final OutputStream out;
+    private final Map<String, Integer> dictionary;
+    private final List<String> strings;
+
+    private long position;
+    private long[] offsets;
+    private int gameCount;
+
+    public GameArchiveWriter(final File file) throws IOException {
+        this.out = new BufferedOutputStream(new FileOutputStream(file), 1 << 16);
+        this.dictionary = new HashMap<>();
+        this.strings = new ArrayList<>();
+        this.offsets = new long[1024];
+        writeInt(MAGIC);
+        writeInt(VERSION);
+    }
+
+    public void write(final ReplayedGame game) throws IOException {
+        if (this.gameCount == this.offsets.length) {
+            this.offsets = Arrays.copyOf(this.offsets, this.gameCount * 2);
+        }
+        this.offsets[this.gameCount++] = this.position;
+
+        final PGNGame pgnGame = game.getGame();
+        writeVarint(pgnGame.getTags().size());
+        for (final Map.Entry<String, String> tag : pgnGame.getTags().entrySet()) {
+            writeVarint(intern(tag.getKey()));
+            writeVarint(intern(tag.getValue()));
+        }
+        writeByte(Arrays.asList(OUTCOMES).indexOf(pgnGame.getOutcome()));
+
+        final ImmutableList<Move> moves = game.getMoves();
+        writeVarint(moves.size());
+        for (final Move move : moves) {
+            final ImmutableList<Move> legalMoves = ImmutableList.copyOf(move.getBoard().currentPlayer().getLegalMoves());
+            final int index = legalMoves.indexOf(move);
+            if (index < 0) {
+                throw new IllegalArgumentException("Move " + move + " is not generated in its position");
+            }
+            if (legalMoves.size() > 256) {
+                writeByte(index >>> 8);
+            }
+            writeByte(index);
+        }
+    }
+
+    // lets the ingestion pipeline feed the archive directly
+    @Override
+    public void acceptGame(final ReplayedGame game) {
+        try {
+            write(game);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int getGameCount() {
+        return this.gameCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        final long dictionaryOffset = this.position;
+        writeVarint(this.strings.size());
+        for (final String string : this.strings) {
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            this.out.write(bytes);
+            this.position += bytes.length;
+        }
+        final long indexOffset = this.position;
+        for (int i = 0; i < this.gameCount; i++) {
+            writeLong(this.offsets[i]);
+        }
+        writeLong(dictionaryOffset);
+        writeLong(indexOffset);
+        writeInt(this.gameCount);
+        writeInt(MAGIC);
+        this.out.close();
+    }
+
+    private int intern(final String string) {
+        final Integer id = this.dictionary.get(string);
+        if (id != null) {
+            return id;
+        }
+        this.dictionary.put(string, this.strings.size());
+        this.strings.add(string);
+        return this.strings.size() - 1;
+    }
+
+    private void writeVarint(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte(value);
+    }
+
+    private void writeByte(final int value) throws IOException {
+        this.out.write(value);
+        this.position++;
+    }
+
+    private void writeInt(final int value) throws IOException {
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            writeByte(value >>> shift);
+        }
+    }
+
+    private void writeLong(final long value) throws IOException {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.chess.pgn;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+// where ingested games and the move statistics of the positions they pass through are kept
+public interface GamePersistence extends Closeable {
+
+    void persistGames(List<ReplayedGame> games) throws IOException;
+
+    default void persistGame(final ReplayedGame game) throws IOException {
+        persistGames(ImmutableList.of(game));
+    }
+
+    int getGameCount();
+
+    // ids run from 0 to getGameCount() - 1
+    PGNGame getGame(int gameId) throws IOException;
+
+    // most played first; empty when the position was never reached
+    ImmutableList<MoveStatistics> getMoveStatistics(Board board);
+
+    // the most played move from this position, or null when there is none
+    default Move getNextBestMove(final Board board) {
+        final ImmutableList<MoveStatistics> statistics = getMoveStatistics(board);
+        return statistics.isEmpty() ? null : statistics.get(0).getMove();
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.chess.pgn;
+
+// receives replayed games from PGNIngestionPipeline, always on the one thread that called ingest()
+public interface GameSink {
+
+    void acceptGame(ReplayedGame game);
+
+    default void rejectGame(final PGNGame game, final String reason) {
+    }
+
+}
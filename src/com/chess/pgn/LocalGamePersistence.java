@@ -0,0 +1,422 @@
+package com.chess.pgn;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// embedded store in one directory, no server involved:
+//   games.pgn      append-only log, itself a valid PGN file
+//   games.idx      end offset of every game in the log, 8 bytes per game id; appending here commits a batch
+//   positions.log  a 16 byte header (magic, version), then (position hash, game id, MoveCodec move, result)
+//                  for the opening plies, 16 bytes each
+// move statistics are rebuilt on open into flat arrays, 24 bytes per (position, move), recently read games are cached
+public final class LocalGamePersistence implements GamePersistence {
+
+    private static final String GAME_LOG = "games.pgn";
+    private static final String GAME_INDEX = "games.idx";
+    private static final String POSITION_LOG = "positions.log";
+
+    private static final int DEFAULT_STATISTICS_PLY = 30;
+    private static final int CACHE_SIZE = 1024;
+    private static final int POSITION_RECORD_SIZE = 16;
+    private static final int POSITION_LOG_MAGIC = 0x43504C31;
+    // 2: en passant hashed only when a capture is possible
+    private static final int POSITION_LOG_VERSION = 2;
+    private static final int POSITION_LOG_HEADER_SIZE = 16;
+
+    private static final int WHITE_WIN = 0;
+    private static final int DRAW = 1;
+    private static final int BLACK_WIN = 2;
+
+    private static LocalGamePersistence defaultInstance;
+
+    private final FileChannel gameLog;
+    private final FileChannel gameIndex;
+    private final FileChannel positionLog;
+    private final int statisticsPly;
+    private final StatisticsTable statistics;
+    private final Map<Integer, PGNGame> cache;
+
+    private int gameCount;
+    private long gameLogSize;
+
+    public LocalGamePersistence(final File directory) throws IOException {
+        this(directory, DEFAULT_STATISTICS_PLY);
+    }
+
+    public LocalGamePersistence(final File directory, final int statisticsPly) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        this.gameLog = open(new File(directory, GAME_LOG));
+        this.gameIndex = open(new File(directory, GAME_INDEX));
+        this.positionLog = open(new File(directory, POSITION_LOG));
+        this.statisticsPly = statisticsPly;
+        this.statistics = new StatisticsTable();
+        this.cache = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, PGNGame> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+        recover();
+    }
+
+    // the store under ~/.chess/games, opened on first use
+    public static synchronized LocalGamePersistence get() {
+        if (defaultInstance == null) {
+            try {
+                defaultInstance = new LocalGamePersistence(new File(System.getProperty("user.home"), ".chess/games"));
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return defaultInstance;
+    }
+
+    // one write per file for the whole batch, the index last so a crash never exposes half a batch
+    @Override
+    public synchronized void persistGames(final List<ReplayedGame> games) throws IOException {
+        if (games.isEmpty()) {
+            return;
+        }
+        final ByteArrayOutputStream log = new ByteArrayOutputStream(games.size() * 1024);
+        final StringBuilder text = new StringBuilder(1024);
+        final long[] endOffsets = new long[games.size()];
+        int positionRecords = 0;
+        for (final ReplayedGame game : games) {
+            if (result(game.getGame()) >= 0) {
+                positionRecords += Math.min(this.statisticsPly, game.getMoves().size());
+            }
+        }
+        final ByteBuffer positionBuffer = ByteBuffer.allocate(positionRecords * POSITION_RECORD_SIZE);
+
+        long offset = this.gameLogSize;
+        for (int i = 0; i < games.size(); i++) {
+            final ReplayedGame game = games.get(i);
+            final int gameId = this.gameCount + i;
+            text.setLength(0);
+            appendGame(game.getGame(), text);
+            final byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+            log.write(bytes, 0, bytes.length);
+            offset += bytes.length;
+            endOffsets[i] = offset;
+
+            final int result = result(game.getGame());
+            if (result < 0) {
+                continue;
+            }
+            final int plies = Math.min(this.statisticsPly, game.getMoves().size());
+            for (int ply = 0; ply < plies; ply++) {
+                final long hash = game.getPositionHash(ply);
+                final int encodedMove = MoveCodec.encode(game.getMoves().get(ply));
+                positionBuffer.putLong(hash).putInt(gameId).putShort((short) encodedMove).put((byte) result).put((byte) 0);
+            }
+        }
+
+        final ByteBuffer indexBuffer = ByteBuffer.allocate(games.size() * Long.BYTES);
+        for (final long endOffset : endOffsets) {
+            indexBuffer.putLong(endOffset);
+        }
+
+        // the logs have to be on disk before the index entries that commit them; a failed write leaves every
+        // file as it was, so the in-memory statistics and the next batch never see half of this one
+        final long positionLogSize = this.positionLog.size();
+        try {
+            writeFully(this.positionLog, positionBuffer.flip(), positionLogSize);
+            writeFully(this.gameLog, ByteBuffer.wrap(log.toByteArray()), this.gameLogSize);
+            this.positionLog.force(false);
+            this.gameLog.force(false);
+            writeFully(this.gameIndex, indexBuffer.flip(), (long) this.gameCount * Long.BYTES);
+            this.gameIndex.force(false);
+        } catch (final IOException | RuntimeException e) {
+            try {
+                this.gameIndex.truncate((long) this.gameCount * Long.BYTES);
+                this.gameLog.truncate(this.gameLogSize);
+                this.positionLog.truncate(positionLogSize);
+            } catch (final IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+
+        positionBuffer.flip();
+        while (positionBuffer.hasRemaining()) {
+            final long hash = positionBuffer.getLong();
+            positionBuffer.getInt();
+            final int encodedMove = positionBuffer.getShort() & 0xFFFF;
+            final int result = positionBuffer.get();
+            positionBuffer.get();
+            this.statistics.record(hash, encodedMove, result);
+        }
+        this.gameCount += games.size();
+        this.gameLogSize = offset;
+    }
+
+    @Override
+    public synchronized int getGameCount() {
+        return this.gameCount;
+    }
+
+    @Override
+    public synchronized PGNGame getGame(final int gameId) throws IOException {
+        if (gameId < 0 || gameId >= this.gameCount) {
+            throw new IllegalArgumentException("No game " + gameId);
+        }
+        final PGNGame cached = this.cache.get(gameId);
+        if (cached != null) {
+            return cached;
+        }
+        final long start = gameId == 0 ? 0 : readLong(this.gameIndex, (long) (gameId - 1) * Long.BYTES);
+        final long end = readLong(this.gameIndex, (long) gameId * Long.BYTES);
+        final ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        readFully(this.gameLog, buffer, start);
+
+        final PGNScanner scanner = new PGNScanner();
+        scanner.reset(buffer.flip(), start, true);
+        final PGNGame game;
+        try {
+            game = scanner.nextGame();
+        } catch (final ParsePGNException e) {
+            throw new IOException("Corrupt game " + gameId, e);
+        }
+        this.cache.put(gameId, game);
+        return game;
+    }
+
+    @Override
+    public synchronized ImmutableList<MoveStatistics> getMoveStatistics(final Board board) {
+        final long hash = board.getZobristHash();
+        final List<MoveStatistics> statistics = new ArrayList<>();
+        for (int slot = this.statistics.home(hash); this.statistics.isOccupied(slot); slot = this.statistics.next(slot)) {
+            if (this.statistics.hashes[slot] != hash) {
+                continue;
+            }
+            final Move move = MoveCodec.decode(board, this.statistics.moves[slot] - 1);
+            if (move != null) {
+                final int results = slot * StatisticsTable.RESULTS;
+                statistics.add(new MoveStatistics(move, this.statistics.results[results + WHITE_WIN],
+                        this.statistics.results[results + DRAW], this.statistics.results[results + BLACK_WIN]));
+            }
+        }
+        statistics.sort((first, second) -> Integer.compare(second.getGames(), first.getGames()));
+        return ImmutableList.copyOf(statistics);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.gameLog.close();
+        this.gameIndex.close();
+        this.positionLog.close();
+    }
+
+    // drops whatever a crash left behind past the last committed game, then rebuilds the statistics
+    private void recover() throws IOException {
+        this.gameCount = (int) (this.gameIndex.size() / Long.BYTES);
+        this.gameIndex.truncate((long) this.gameCount * Long.BYTES);
+        this.gameLogSize = this.gameCount == 0 ? 0 : readLong(this.gameIndex, (long) (this.gameCount - 1) * Long.BYTES);
+        this.gameLog.truncate(this.gameLogSize);
+
+        if (this.positionLog.size() < POSITION_LOG_HEADER_SIZE) {
+            final ByteBuffer header = ByteBuffer.allocate(POSITION_LOG_HEADER_SIZE)
+                    .putInt(POSITION_LOG_MAGIC).putInt(POSITION_LOG_VERSION);
+            writeFully(this.positionLog, header.clear(), 0);
+            this.positionLog.truncate(POSITION_LOG_HEADER_SIZE);
+        } else {
+            final ByteBuffer header = ByteBuffer.allocate(POSITION_LOG_HEADER_SIZE);
+            readFully(this.positionLog, header, 0);
+            if (header.getInt(0) != POSITION_LOG_MAGIC || header.getInt(4) != POSITION_LOG_VERSION) {
+                throw new IOException(POSITION_LOG + " has an unsupported format");
+            }
+        }
+
+        final long end = POSITION_LOG_HEADER_SIZE +
+                (this.positionLog.size() - POSITION_LOG_HEADER_SIZE) / POSITION_RECORD_SIZE * POSITION_RECORD_SIZE;
+        final ByteBuffer buffer = ByteBuffer.allocate(POSITION_RECORD_SIZE * 4096);
+        long position = POSITION_LOG_HEADER_SIZE;
+        long committed = POSITION_LOG_HEADER_SIZE;
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            readFully(this.positionLog, buffer, position);
+            position += buffer.limit();
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                final long hash = buffer.getLong();
+                final int gameId = buffer.getInt();
+                final int encodedMove = buffer.getShort() & 0xFFFF;
+                final int result = buffer.get();
+                buffer.get();
+                if (gameId >= this.gameCount) {
+                    this.positionLog.truncate(committed);
+                    return;
+                }
+                this.statistics.record(hash, encodedMove, result);
+                committed += POSITION_RECORD_SIZE;
+            }
+        }
+        this.positionLog.truncate(committed);
+    }
+
+    private static int result(final PGNGame game) {
+        switch (game.getOutcome()) {
+            case "1-0":
+                return WHITE_WIN;
+            case "1/2-1/2":
+                return DRAW;
+            case "0-1":
+                return BLACK_WIN;
+            default:
+                return -1;
+        }
+    }
+
+    private static void appendGame(final PGNGame game, final StringBuilder text) {
+        for (final Map.Entry<String, String> tag : game.getTags().entrySet()) {
+            text.append('[').append(tag.getKey()).append(" \"");
+            for (int i = 0; i < tag.getValue().length(); i++) {
+                final char c = tag.getValue().charAt(i);
+                if (c == '"' || c == '\\') {
+                    text.append('\\');
+                }
+                text.append(c);
+            }
+            text.append("\"]\n");
+        }
+        text.append('\n');
+        int lineStart = text.length();
+        for (int ply = 0; ply < game.getMoves().size(); ply++) {
+            if (text.length() - lineStart > 72) {
+                text.append('\n');
+                lineStart = text.length();
+            } else if (ply > 0) {
+                text.append(' ');
+            }
+            if (ply % 2 == 0) {
+                text.append(ply / 2 + 1).append(". ");
+            }
+            text.append(game.getMoves().get(ply));
+        }
+        text.append(game.getMoves().isEmpty() ? "" : " ").append(game.getOutcome()).append("\n\n");
+    }
+
+    private static FileChannel open(final File file) throws IOException {
+        return FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static long readLong(final FileChannel channel, final long position) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        readFully(channel, buffer, position);
+        return buffer.getLong(0);
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+            position += read;
+        }
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    // open addressing over (position hash, move) with linear probing from the position's own slot, so every move
+    // of a position sits in the run of occupied slots starting there; nothing is ever removed
+    private static final class StatisticsTable {
+
+        static final int RESULTS = 3;
+
+        private static final int INITIAL_CAPACITY = 1 << 12;
+
+        long[] hashes;
+        // MoveCodec moves plus one, zero marks a free slot
+        int[] moves;
+        int[] results;
+        private int mask;
+        private int size;
+
+        StatisticsTable() {
+            allocate(INITIAL_CAPACITY);
+        }
+
+        int home(final long hash) {
+            return (int) (hash ^ (hash >>> 32)) & this.mask;
+        }
+
+        int next(final int slot) {
+            return (slot + 1) & this.mask;
+        }
+
+        boolean isOccupied(final int slot) {
+            return this.moves[slot] != 0;
+        }
+
+        void record(final long hash, final int encodedMove, final int result) {
+            int slot = home(hash);
+            while (isOccupied(slot)) {
+                if (this.hashes[slot] == hash && this.moves[slot] == encodedMove + 1) {
+                    this.results[slot * RESULTS + result]++;
+                    return;
+                }
+                slot = next(slot);
+            }
+            // kept at most half full so the runs stay short
+            if (2 * (this.size + 1) > this.moves.length) {
+                grow();
+                record(hash, encodedMove, result);
+                return;
+            }
+            this.hashes[slot] = hash;
+            this.moves[slot] = encodedMove + 1;
+            this.results[slot * RESULTS + result]++;
+            this.size++;
+        }
+
+        private void grow() {
+            final long[] oldHashes = this.hashes;
+            final int[] oldMoves = this.moves;
+            final int[] oldResults = this.results;
+            allocate(oldMoves.length * 2);
+            for (int oldSlot = 0; oldSlot < oldMoves.length; oldSlot++) {
+                if (oldMoves[oldSlot] == 0) {
+                    continue;
+                }
+                int slot = home(oldHashes[oldSlot]);
+                while (isOccupied(slot)) {
+                    slot = next(slot);
+                }
+                this.hashes[slot] = oldHashes[oldSlot];
+                this.moves[slot] = oldMoves[oldSlot];
+                System.arraycopy(oldResults, oldSlot * RESULTS, this.results, slot * RESULTS, RESULTS);
+            }
+        }
+
+        private void allocate(final int capacity) {
+            this.hashes = new long[capacity];
+            this.moves = new int[capacity];
+            this.results = new int[capacity * RESULTS];
+            this.mask = capacity - 1;
+        }
+
+    }
+
+}
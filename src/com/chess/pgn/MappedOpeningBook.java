@@ -0,0 +1,88 @@
+package com.chess.pgn;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.ai.OpeningBook;
+import com.google.common.collect.ImmutableList;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+// a book written by OpeningBookBuilder, probed by binary search over the mapped file:
+//   header   magic, version, entry count
+//   entries  position hash, games, MoveCodec move, score for the mover in 1/10000, 16 bytes each,
+//            sorted by hash then move
+// a move's weight is twice its points, 2 per win and 1 per draw, as Polyglot books count them
+public final class MappedOpeningBook implements OpeningBook {
+
+    static final int MAGIC = 0x43424B31;
+    // 2: moves in MoveCodec form
+    // 3: en passant hashed only when a capture is possible
+    static final int VERSION = 3;
+    static final int HEADER_SIZE = 16;
+    static final int ENTRY_SIZE = 16;
+    static final int SCORE_SCALE = 10000;
+
+    private final ByteBuffer entries;
+    private final int entryCount;
+
+    private MappedOpeningBook(final ByteBuffer entries, final int entryCount) {
+        this.entries = entries;
+        this.entryCount = entryCount;
+    }
+
+    public static MappedOpeningBook open(final File bookFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(bookFile.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(bookFile + " is not an opening book");
+            }
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException(bookFile + " is not an opening book");
+            }
+            final long entryCount = buffer.getLong(8);
+            if (channel.size() != HEADER_SIZE + entryCount * ENTRY_SIZE) {
+                throw new IOException(bookFile + " is truncated");
+            }
+            return new MappedOpeningBook(buffer, (int) entryCount);
+        }
+    }
+
+    public int getEntryCount() {
+        return this.entryCount;
+    }
+
+    @Override
+    public ImmutableList<BookMove> getBookMoves(final Board board) {
+        final long hash = board.getZobristHash();
+        int low = 0;
+        int high = this.entryCount;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (hashAt(middle) < hash) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        final ImmutableList.Builder<BookMove> bookMoves = ImmutableList.builder();
+        for (int i = low; i < this.entryCount && hashAt(i) == hash; i++) {
+            final int offset = HEADER_SIZE + i * ENTRY_SIZE;
+            final Move move = MoveCodec.decode(board, this.entries.getShort(offset + 12));
+            if (move != null) {
+                final long games = this.entries.getInt(offset + 8);
+                final int score = this.entries.getShort(offset + 14);
+                bookMoves.add(new BookMove(move, (int) Math.min(Integer.MAX_VALUE, games * score * 2 / SCORE_SCALE)));
+            }
+        }
+        return bookMoves.build();
+    }
+
+    private long hashAt(final int index) {
+        return this.entries.getLong(HEADER_SIZE + index * ENTRY_SIZE);
+    }
+
+}
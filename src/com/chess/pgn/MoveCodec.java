@@ -0,0 +1,55 @@
+package com.chess.pgn;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+
+// the move encoding of every file this package writes, kept apart from TranspositionTable's in-memory one so
+// the search can change its packing without reinterpreting logs, indexes and books already on disk:
+//   from | to << 6 | promotion << 12, promotion 0 none, 1 knight, 2 bishop, 3 rook, 4 queen
+// changing it means bumping the version in the header of every file that stores these
+final class MoveCodec {
+
+    // never produced by encode(), from and to are the same square
+    static final int NO_MOVE = 0x7FFF;
+
+    private MoveCodec() {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    static int encode(final Move move) {
+        final int encodedMove = move.getCurrentCoordinate() | (move.getDestinationCoordinate() << 6);
+        if (move instanceof Move.PawnPromotionMove) {
+            return encodedMove | (promotion(((Move.PawnPromotionMove) move).getPromotionType()) << 12);
+        }
+        return encodedMove;
+    }
+
+    // the legal move of the side to move with that encoding, or null
+    static Move decode(final Board board, final int encodedMove) {
+        if (encodedMove == NO_MOVE) {
+            return null;
+        }
+        final int from = encodedMove & 0x3F;
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            if (move.getCurrentCoordinate() == from && encode(move) == encodedMove) {
+                return move;
+            }
+        }
+        return null;
+    }
+
+    private static int promotion(final Piece.PieceType promotionType) {
+        switch (promotionType) {
+            case KNIGHT:
+                return 1;
+            case BISHOP:
+                return 2;
+            case ROOK:
+                return 3;
+            default:
+                return 4;
+        }
+    }
+
+}
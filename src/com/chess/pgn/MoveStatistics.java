@@ -0,0 +1,52 @@
+package com.chess.pgn;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Move;
+
+// how often a move was played from one position and how those games ended
+public final class MoveStatistics {
+
+    private final Move move;
+    private final int whiteWins;
+    private final int draws;
+    private final int blackWins;
+
+    public MoveStatistics(final Move move, final int whiteWins, final int draws, final int blackWins) {
+        this.move = move;
+        this.whiteWins = whiteWins;
+        this.draws = draws;
+        this.blackWins = blackWins;
+    }
+
+    public Move getMove() {
+        return this.move;
+    }
+
+    public int getGames() {
+        return this.whiteWins + this.draws + this.blackWins;
+    }
+
+    public int getWhiteWins() {
+        return this.whiteWins;
+    }
+
+    public int getDraws() {
+        return this.draws;
+    }
+
+    public int getBlackWins() {
+        return this.blackWins;
+    }
+
+    // points per game for the given side, a draw counting half
+    public double getScore(final Alliance alliance) {
+        final int wins = alliance.isWhite() ? this.whiteWins : this.blackWins;
+        return getGames() == 0 ? 0 : (wins + this.draws * 0.5) / getGames();
+    }
+
+    @Override
+    public String toString() {
+        return this.move + " " + getGames() + " (+" + this.whiteWins + " =" + this.draws + " -" + this.blackWins + ")";
+    }
+
+}
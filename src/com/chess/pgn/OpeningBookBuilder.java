@@ -0,0 +1,116 @@
+package com.chess.pgn;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// collects the moves played in the opening plies of ingested games and writes them as a MappedOpeningBook file
+public final class OpeningBookBuilder implements GameSink {
+
+    private static final int DEFAULT_MAX_PLY = 20;
+    private static final int DEFAULT_MIN_GAMES = 2;
+
+    // statistics entries are (encoded move, wins, draws, losses), results from the mover's side
+    private static final int ENTRY_SIZE = 4;
+    private static final int WIN = 0;
+    private static final int DRAW = 1;
+    private static final int LOSS = 2;
+
+    private final int maxPly;
+    private final int minGames;
+    private final Map<Long, int[]> positions;
+
+    public OpeningBookBuilder() {
+        this(DEFAULT_MAX_PLY, DEFAULT_MIN_GAMES);
+    }
+
+    // moves seen in fewer than minGames games are left out of the book
+    public OpeningBookBuilder(final int maxPly, final int minGames) {
+        this.maxPly = maxPly;
+        this.minGames = Math.max(1, minGames);
+        this.positions = new HashMap<>();
+    }
+
+    public PGNIngestionPipeline.Report addGames(final File pgnFile) throws IOException {
+        return new PGNIngestionPipeline.Builder().build().ingest(pgnFile, this);
+    }
+
+    // games without a result say nothing about how good a move is and are skipped
+    @Override
+    public void acceptGame(final ReplayedGame game) {
+        final String outcome = game.getGame().getOutcome();
+        if (!outcome.equals("1-0") && !outcome.equals("0-1") && !outcome.equals("1/2-1/2")) {
+            return;
+        }
+        final ImmutableList<Move> moves = game.getMoves();
+        for (int ply = 0; ply < Math.min(this.maxPly, moves.size()); ply++) {
+            final Move move = moves.get(ply);
+            final Alliance mover = move.getMovedPiece().getPieceAlliance();
+            final int result = outcome.equals("1/2-1/2") ? DRAW : outcome.equals(mover.isWhite() ? "1-0" : "0-1") ? WIN : LOSS;
+            record(game.getPositionHash(ply), MoveCodec.encode(move), result);
+        }
+    }
+
+    public int getPositionCount() {
+        return this.positions.size();
+    }
+
+    // entries sorted by position hash, then move
+    public void write(final File bookFile) throws IOException {
+        final List<long[]> entries = new ArrayList<>();
+        for (final Map.Entry<Long, int[]> position : this.positions.entrySet()) {
+            final int[] statistics = position.getValue();
+            for (int i = 0; i < statistics.length; i += ENTRY_SIZE) {
+                final int games = statistics[i + 1 + WIN] + statistics[i + 1 + DRAW] + statistics[i + 1 + LOSS];
+                if (games >= this.minGames) {
+                    final int score = (int) Math.round((statistics[i + 1 + WIN] + statistics[i + 1 + DRAW] * 0.5) * MappedOpeningBook.SCORE_SCALE / games);
+                    entries.add(new long[]{position.getKey(), statistics[i], games, score});
+                }
+            }
+        }
+        entries.sort((first, second) -> first[0] != second[0] ? Long.compare(first[0], second[0]) : Long.compare(first[1], second[1]));
+
+        final ByteBuffer buffer = ByteBuffer.allocate(MappedOpeningBook.HEADER_SIZE + entries.size() * MappedOpeningBook.ENTRY_SIZE);
+        buffer.putInt(MappedOpeningBook.MAGIC).putInt(MappedOpeningBook.VERSION).putLong(entries.size());
+        for (final long[] entry : entries) {
+            buffer.putLong(entry[0]).putInt((int) entry[2]).putShort((short) entry[1]).putShort((short) entry[3]);
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(bookFile.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private void record(final long hash, final int encodedMove, final int result) {
+        int[] entries = this.positions.get(hash);
+        if (entries != null) {
+            for (int i = 0; i < entries.length; i += ENTRY_SIZE) {
+                if (entries[i] == encodedMove) {
+                    entries[i + 1 + result]++;
+                    return;
+                }
+            }
+            entries = Arrays.copyOf(entries, entries.length + ENTRY_SIZE);
+        } else {
+            entries = new int[ENTRY_SIZE];
+        }
+        entries[entries.length - ENTRY_SIZE] = encodedMove;
+        entries[entries.length - ENTRY_SIZE + 1 + result]++;
+        this.positions.put(hash, entries);
+    }
+
+}
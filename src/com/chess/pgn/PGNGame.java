@@ -0,0 +1,62 @@
+package com.chess.pgn;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+// one game as it appears in the file: tag pairs in file order, main line SAN moves and the result token
+public final class PGNGame {
+
+    private final long offset;
+    private final ImmutableMap<String, String> tags;
+    private final Supplier<ImmutableList<String>> moves;
+    private final String outcome;
+
+    PGNGame(final long offset,
+            final ImmutableMap<String, String> tags,
+            final ImmutableList<String> moves,
+            final String outcome) {
+        this(offset, tags, Suppliers.ofInstance(moves), outcome);
+    }
+
+    // for games rebuilt from something other than their notation, the SAN is only written out on first use
+    PGNGame(final long offset,
+            final ImmutableMap<String, String> tags,
+            final Supplier<ImmutableList<String>> moves,
+            final String outcome) {
+        this.offset = offset;
+        this.tags = tags;
+        this.moves = Suppliers.memoize(moves);
+        this.outcome = outcome;
+    }
+
+    // byte offset of the game in its file
+    public long getOffset() {
+        return this.offset;
+    }
+
+    public ImmutableMap<String, String> getTags() {
+        return this.tags;
+    }
+
+    public String getTag(final String name) {
+        return this.tags.get(name);
+    }
+
+    public ImmutableList<String> getMoves() {
+        return this.moves.get();
+    }
+
+    // "1-0", "0-1", "1/2-1/2" or "*"
+    public String getOutcome() {
+        return this.outcome;
+    }
+
+    @Override
+    public String toString() {
+        return this.tags.getOrDefault("White", "?") + " - " + this.tags.getOrDefault("Black", "?") + " " +
+                this.outcome + " (" + getMoves().size() + " plies)";
+    }
+
+}
@@ -0,0 +1,176 @@
+package com.chess.pgn;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// reader thread -> chunks of games -> replay workers -> bounded queue -> sink on the calling thread;
+// games reach the sink in no particular order
+public final class PGNIngestionPipeline {
+
+    // end markers, compared by identity
+    private static final List<PGNGame> END_OF_INPUT = new ArrayList<>(0);
+    private static final List<Result> END_OF_OUTPUT = new ArrayList<>(0);
+
+    private final int workerCount;
+    private final int chunkSize;
+    private final int queueCapacity;
+
+    private PGNIngestionPipeline(final Builder builder) {
+        this.workerCount = builder.workerCount;
+        this.chunkSize = builder.chunkSize;
+        this.queueCapacity = builder.queueCapacity;
+    }
+
+    public Report ingest(final File pgnFile, final GameSink sink) throws IOException {
+        final long startNanos = System.nanoTime();
+        final BlockingQueue<List<PGNGame>> chunks = new ArrayBlockingQueue<>(this.queueCapacity);
+        final BlockingQueue<List<Result>> results = new ArrayBlockingQueue<>(this.queueCapacity);
+        final ExecutorService executor = Executors.newFixedThreadPool(this.workerCount + 1, runnable -> {
+            final Thread thread = new Thread(runnable, "pgn-ingestion");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        final PGNReader reader = PGNUtilities.openPGNFile(pgnFile);
+        long acceptedGames = 0;
+        long rejectedGames = 0;
+        long plies = 0;
+        try {
+            final Future<?> splitter = executor.submit(() -> split(reader, chunks));
+            for (int i = 0; i < this.workerCount; i++) {
+                executor.submit(() -> replay(chunks, results));
+            }
+
+            int finishedWorkers = 0;
+            while (finishedWorkers < this.workerCount) {
+                final List<Result> chunk = results.take();
+                if (chunk == END_OF_OUTPUT) {
+                    finishedWorkers++;
+                    continue;
+                }
+                for (final Result result : chunk) {
+                    if (result.replayedGame() != null) {
+                        acceptedGames++;
+                        plies += result.replayedGame().getMoves().size();
+                        sink.acceptGame(result.replayedGame());
+                    } else {
+                        rejectedGames++;
+                        sink.rejectGame(result.game(), result.error());
+                    }
+                }
+            }
+            // surfaces an I/O failure in the reader
+            splitter.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Ingestion of " + pgnFile + " interrupted", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IOException("Ingestion of " + pgnFile + " failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            reader.close();
+        }
+
+        return new Report(acceptedGames, rejectedGames, reader.getSkippedGames(), plies,
+                (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    private void split(final PGNReader reader, final BlockingQueue<List<PGNGame>> chunks) {
+        try {
+            try {
+                List<PGNGame> chunk = new ArrayList<>(this.chunkSize);
+                while (reader.hasNext()) {
+                    chunk.add(reader.next());
+                    if (chunk.size() == this.chunkSize) {
+                        chunks.put(chunk);
+                        chunk = new ArrayList<>(this.chunkSize);
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    chunks.put(chunk);
+                }
+            } finally {
+                for (int i = 0; i < this.workerCount; i++) {
+                    chunks.put(END_OF_INPUT);
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // a game that fails to replay is reported to the sink and never stops the worker
+    private static void replay(final BlockingQueue<List<PGNGame>> chunks, final BlockingQueue<List<Result>> results) {
+        try {
+            while (true) {
+                final List<PGNGame> chunk = chunks.take();
+                if (chunk == END_OF_INPUT) {
+                    results.put(END_OF_OUTPUT);
+                    return;
+                }
+                final List<Result> replayed = new ArrayList<>(chunk.size());
+                for (final PGNGame game : chunk) {
+                    try {
+                        replayed.add(new Result(game, ReplayedGame.replay(game), null));
+                    } catch (final RuntimeException e) {
+                        replayed.add(new Result(game, null, String.valueOf(e.getMessage())));
+                    }
+                }
+                results.put(replayed);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Result(PGNGame game, ReplayedGame replayedGame, String error) {
+    }
+
+    public record Report(long acceptedGames, long rejectedGames, int malformedGames, long plies, long elapsedMillis) {
+
+        public long gamesPerSecond() {
+            return (this.acceptedGames + this.rejectedGames) * 1000 / Math.max(1, this.elapsedMillis);
+        }
+
+    }
+
+    public static class Builder {
+
+        int workerCount = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        int chunkSize = 64;
+        int queueCapacity = 16;
+
+        public Builder setWorkerCount(final int workerCount) {
+            this.workerCount = Math.max(1, workerCount);
+            return this;
+        }
+
+        public Builder setChunkSize(final int chunkSize) {
+            this.chunkSize = Math.max(1, chunkSize);
+            return this;
+        }
+
+        // chunks waiting on each side of the workers, which bounds memory when the sink is slow
+        public Builder setQueueCapacity(final int queueCapacity) {
+            this.queueCapacity = Math.max(1, queueCapacity);
+            return this;
+        }
+
+        public PGNIngestionPipeline build() {
+            return new PGNIngestionPipeline(this);
+        }
+    }
+
+}
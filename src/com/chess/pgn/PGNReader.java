@@ -0,0 +1,94 @@
+package com.chess.pgn;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// iterates the games of a PGN file lazily through a sliding memory-mapped window, so file size is not bounded by the heap
+public final class PGNReader implements Iterator<PGNGame>, Closeable {
+
+    private static final long WINDOW_SIZE = 1L << 28;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long windowSize;
+    private final PGNScanner scanner;
+
+    private long windowOffset;
+    private PGNGame next;
+    private int skippedGames;
+
+    public PGNReader(final File file) throws IOException {
+        this(file, WINDOW_SIZE);
+    }
+
+    // a window must hold the largest game in the file, and smaller ones remap more often
+    public PGNReader(final File file, final long windowSize) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.fileSize = this.channel.size();
+        this.windowSize = windowSize;
+        this.scanner = new PGNScanner();
+        map(0);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.next == null) {
+            this.next = readGame();
+        }
+        return this.next != null;
+    }
+
+    @Override
+    public PGNGame next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final PGNGame game = this.next;
+        this.next = null;
+        return game;
+    }
+
+    // malformed games are skipped and counted rather than ending the stream
+    public int getSkippedGames() {
+        return this.skippedGames;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    private PGNGame readGame() {
+        while (true) {
+            final int start = this.scanner.position();
+            try {
+                return this.scanner.nextGame();
+            } catch (final PGNScanner.EndOfWindowException e) {
+                if (start == 0) {
+                    throw new IllegalStateException("Game at offset " + this.windowOffset + " exceeds the mapping window");
+                }
+                map(this.windowOffset + start);
+            } catch (final ParsePGNException e) {
+                this.skippedGames++;
+            }
+        }
+    }
+
+    private void map(final long offset) {
+        try {
+            final long size = Math.min(this.windowSize, this.fileSize - offset);
+            this.scanner.reset(this.channel.map(FileChannel.MapMode.READ_ONLY, offset, size), offset,
+                    offset + size == this.fileSize);
+            this.windowOffset = offset;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,322 @@
+package com.chess.pgn;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// reads games straight out of a byte window; only tag values and SAN moves are ever turned into Strings
+final class PGNScanner {
+
+    // thrown when a game runs past the end of a window that is not the end of the file, so the reader can remap
+    static final class EndOfWindowException extends RuntimeException {
+        private EndOfWindowException() {
+            super(null, null, false, false);
+        }
+    }
+
+    static final EndOfWindowException END_OF_WINDOW = new EndOfWindowException();
+
+    private static final byte[] DRAW = "1/2-1/2".getBytes(StandardCharsets.ISO_8859_1);
+
+    private ByteBuffer buffer;
+    private long bufferOffset;
+    private int limit;
+    private boolean lastWindow;
+    private int position;
+    private byte[] scratch;
+
+    PGNScanner() {
+        this.scratch = new byte[256];
+    }
+
+    void reset(final ByteBuffer buffer, final long bufferOffset, final boolean lastWindow) {
+        this.buffer = buffer;
+        this.bufferOffset = bufferOffset;
+        this.limit = buffer.limit();
+        this.lastWindow = lastWindow;
+        // skip a UTF-8 byte order mark
+        this.position = bufferOffset == 0 && this.limit >= 3 && (buffer.get(0) & 0xFF) == 0xEF &&
+                (buffer.get(1) & 0xFF) == 0xBB && (buffer.get(2) & 0xFF) == 0xBF ? 3 : 0;
+    }
+
+    int position() {
+        return this.position;
+    }
+
+    // null once the input is exhausted; a malformed game is skipped up to the next tag section before throwing
+    PGNGame nextGame() throws ParsePGNException {
+        skipWhitespace();
+        if (peek(this.position) < 0) {
+            return null;
+        }
+        final long gameOffset = this.bufferOffset + this.position;
+
+        final Map<String, String> tags = new LinkedHashMap<>();
+        while (peek(this.position) == '[') {
+            readTag(tags);
+            skipWhitespace();
+        }
+
+        final ImmutableList.Builder<String> moves = ImmutableList.builder();
+        String outcome = null;
+        int depth = 0;
+        while (outcome == null) {
+            final int c = peek(this.position);
+            if (c < 0) {
+                break;
+            }
+            switch (c) {
+                case ' ':
+                case '\t':
+                case '\r':
+                case '\n':
+                    this.position++;
+                    break;
+                case '{':
+                    skipComment();
+                    break;
+                case ';':
+                    skipLine();
+                    break;
+                case '(':
+                    depth++;
+                    this.position++;
+                    break;
+                case ')':
+                    if (depth == 0) {
+                        throw error(gameOffset, "unbalanced ')'");
+                    }
+                    depth--;
+                    this.position++;
+                    break;
+                case '[':
+                    // a new tag section means the previous game never gave its result
+                    if (depth == 0 && isLineStart(this.position)) {
+                        outcome = "*";
+                    } else {
+                        this.position++;
+                    }
+                    break;
+                case '%':
+                    if (isLineStart(this.position)) {
+                        skipLine();
+                        break;
+                    }
+                    outcome = readWord(moves, depth);
+                    break;
+                default:
+                    outcome = readWord(moves, depth);
+                    break;
+            }
+        }
+        if (depth != 0) {
+            throw error(gameOffset, "unterminated variation");
+        }
+        return new PGNGame(gameOffset, ImmutableMap.copyOf(tags), moves.build(), outcome == null ? "*" : outcome);
+    }
+
+    private int peek(final int index) {
+        if (index < this.limit) {
+            return this.buffer.get(index) & 0xFF;
+        }
+        if (!this.lastWindow) {
+            throw END_OF_WINDOW;
+        }
+        return -1;
+    }
+
+    private boolean isLineStart(final int index) {
+        if (index == 0) {
+            return true;
+        }
+        final int previous = this.buffer.get(index - 1);
+        return previous == '\n' || previous == '\r';
+    }
+
+    // whitespace and escape lines between games
+    private void skipWhitespace() {
+        int c;
+        while ((c = peek(this.position)) >= 0) {
+            if (c == '%' && isLineStart(this.position)) {
+                skipLine();
+            } else if (isWhitespace(c)) {
+                this.position++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void skipLine() {
+        int c;
+        while ((c = peek(this.position)) >= 0 && c != '\n') {
+            this.position++;
+        }
+    }
+
+    private void skipComment() {
+        int c;
+        while ((c = peek(this.position)) >= 0 && c != '}') {
+            this.position++;
+        }
+        this.position++;
+    }
+
+    private void readTag(final Map<String, String> tags) {
+        this.position++;
+        while (isWhitespace(peek(this.position))) {
+            this.position++;
+        }
+        final int nameStart = this.position;
+        int c;
+        while ((c = peek(this.position)) >= 0 && !isWhitespace(c) && c != '"' && c != ']') {
+            this.position++;
+        }
+        final String name = decode(nameStart, this.position);
+        while ((c = peek(this.position)) == ' ' || c == '\t') {
+            this.position++;
+        }
+
+        int length = 0;
+        if (c == '"') {
+            this.position++;
+            while ((c = peek(this.position)) >= 0 && c != '"' && c != '\n') {
+                if (c == '\\' && peek(this.position + 1) >= 0) {
+                    c = peek(++this.position);
+                }
+                ensureScratch(length + 1);
+                this.scratch[length++] = (byte) c;
+                this.position++;
+            }
+        }
+        // tolerate a missing ']' by ending the tag at the end of its line
+        while ((c = peek(this.position)) >= 0 && c != ']' && c != '\n') {
+            this.position++;
+        }
+        if (c == ']') {
+            this.position++;
+        }
+        if (!name.isEmpty()) {
+            tags.put(name, new String(this.scratch, 0, length, StandardCharsets.UTF_8));
+        }
+    }
+
+    // returns the result when the word is one, otherwise records it if it is a main line move
+    private String readWord(final ImmutableList.Builder<String> moves, final int depth) {
+        final int start = this.position;
+        int c;
+        while ((c = peek(this.position)) >= 0 && !isDelimiter(c)) {
+            this.position++;
+        }
+        final int length = this.position - start;
+        if (length == 0) {
+            this.position++;
+            return null;
+        }
+        ensureScratch(length);
+        this.buffer.get(start, this.scratch, 0, length);
+        if (depth > 0) {
+            return null;
+        }
+
+        // move numbers, "12." or "12..." on their own or glued to the move as in "12.e4"
+        int from = 0;
+        while (from < length && isDigit(this.scratch[from])) {
+            from++;
+        }
+        if (from < length && this.scratch[from] == '.') {
+            while (from < length && this.scratch[from] == '.') {
+                from++;
+            }
+        } else {
+            from = 0;
+        }
+        int to = length;
+        while (to > from && (this.scratch[to - 1] == '!' || this.scratch[to - 1] == '?')) {
+            to--;
+        }
+        if (to == from) {
+            return null;
+        }
+
+        final String result = result(from, to);
+        if (result != null) {
+            return result;
+        }
+        // everything else at the top level, such as NAGs or the "(+)-(-)" forfeit marker, is not a move
+        if (to - from >= 2 && isMoveStart(this.scratch[from])) {
+            if (this.scratch[from] == '0') {
+                for (int i = from; i < to; i++) {
+                    if (this.scratch[i] == '0') {
+                        this.scratch[i] = 'O';
+                    }
+                }
+            }
+            moves.add(new String(this.scratch, from, to - from, StandardCharsets.ISO_8859_1));
+        }
+        return null;
+    }
+
+    private String result(final int from, final int to) {
+        final int length = to - from;
+        if (length == 1 && this.scratch[from] == '*') {
+            return "*";
+        }
+        if (length == 3 && this.scratch[from + 1] == '-') {
+            if (this.scratch[from] == '1' && this.scratch[from + 2] == '0') {
+                return "1-0";
+            }
+            if (this.scratch[from] == '0' && this.scratch[from + 2] == '1') {
+                return "0-1";
+            }
+        }
+        if (length == 7 && Arrays.equals(this.scratch, from, to, DRAW, 0, DRAW.length)) {
+            return "1/2-1/2";
+        }
+        return null;
+    }
+
+    private ParsePGNException error(final long gameOffset, final String message) {
+        // resynchronise on the next tag section
+        int c;
+        while ((c = peek(this.position)) >= 0 && !(c == '[' && isLineStart(this.position))) {
+            this.position++;
+        }
+        return new ParsePGNException(message + " in game at offset " + gameOffset);
+    }
+
+    private String decode(final int from, final int to) {
+        final int length = to - from;
+        ensureScratch(length);
+        this.buffer.get(from, this.scratch, 0, length);
+        return new String(this.scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private void ensureScratch(final int length) {
+        if (length > this.scratch.length) {
+            this.scratch = Arrays.copyOf(this.scratch, Math.max(length, this.scratch.length * 2));
+        }
+    }
+
+    private static boolean isWhitespace(final int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+
+    private static boolean isDelimiter(final int c) {
+        return isWhitespace(c) || c == '{' || c == '}' || c == '(' || c == ')' || c == '[' || c == ']' || c == ';';
+    }
+
+    private static boolean isDigit(final byte c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isMoveStart(final byte c) {
+        return (c >= 'a' && c <= 'h') || c == 'K' || c == 'Q' || c == 'R' || c == 'B' || c == 'N' || c == 'O' || c == '0';
+    }
+
+}
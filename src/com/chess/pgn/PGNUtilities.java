@@ -0,0 +1,66 @@
+package com.chess.pgn;
+
+import com.google.common.collect.ImmutableList;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class PGNUtilities {
+
+    private static final int PERSIST_BATCH_SIZE = 256;
+
+    private PGNUtilities() {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    // the caller owns the reader and must close it
+    public static PGNReader openPGNFile(final File pgnFile) throws IOException {
+        return new PGNReader(pgnFile);
+    }
+
+    public static PGNIngestionPipeline.Report persistPGNFile(final File pgnFile) throws IOException {
+        return persistPGNFile(pgnFile, LocalGamePersistence.get());
+    }
+
+    // replays the file on all cores and stores the games in batches
+    public static PGNIngestionPipeline.Report persistPGNFile(final File pgnFile,
+                                                             final GamePersistence persistence) throws IOException {
+        final List<ReplayedGame> batch = new ArrayList<>(PERSIST_BATCH_SIZE);
+        final PGNIngestionPipeline.Report report;
+        try {
+            report = new PGNIngestionPipeline.Builder().build().ingest(pgnFile, game -> {
+                batch.add(game);
+                if (batch.size() == PERSIST_BATCH_SIZE) {
+                    persistBatch(persistence, batch);
+                }
+            });
+            persistBatch(persistence, batch);
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return report;
+    }
+
+    private static void persistBatch(final GamePersistence persistence, final List<ReplayedGame> batch) {
+        try {
+            persistence.persistGames(batch);
+            batch.clear();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // main line SAN moves of one game's movetext, without numbers, comments, variations, NAGs or the result
+    public static List<String> processMoveText(final String gameText) throws ParsePGNException {
+        final PGNScanner scanner = new PGNScanner();
+        scanner.reset(ByteBuffer.wrap(gameText.getBytes(StandardCharsets.UTF_8)), 0, true);
+        final PGNGame game = scanner.nextGame();
+        return game == null ? ImmutableList.of() : game.getMoves();
+    }
+
+}
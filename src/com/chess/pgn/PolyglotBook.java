@@ -0,0 +1,92 @@
+package com.chess.pgn;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.player.ai.OpeningBook;
+import com.google.common.collect.ImmutableList;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+// a standard Polyglot .bin book, mapped and binary searched in place:
+//   entries  key, move, weight, learn; 8 + 2 + 2 + 4 bytes, big-endian, sorted by key
+//   move     to file, to rank, from file, from rank in 3 bits each, then the promotion piece
+//            (0 none, 1 knight, 2 bishop, 3 rook, 4 queen); castling is written as the king taking its rook
+public final class PolyglotBook implements OpeningBook {
+
+    private static final int ENTRY_SIZE = 16;
+
+    private final ByteBuffer entries;
+    private final int entryCount;
+    private final PolyglotKeys keys;
+
+    private PolyglotBook(final ByteBuffer entries, final PolyglotKeys keys) {
+        this.entries = entries;
+        this.entryCount = entries.capacity() / ENTRY_SIZE;
+        this.keys = keys;
+    }
+
+    public static PolyglotBook open(final File bookFile, final PolyglotKeys keys) throws IOException {
+        try (FileChannel channel = FileChannel.open(bookFile.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() % ENTRY_SIZE != 0 || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(bookFile + " is not a Polyglot book");
+            }
+            return new PolyglotBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), keys);
+        }
+    }
+
+    public int getEntryCount() {
+        return this.entryCount;
+    }
+
+    @Override
+    public ImmutableList<BookMove> getBookMoves(final Board board) {
+        final long key = this.keys.getKey(board);
+        // keys are unsigned 64-bit values
+        int low = 0;
+        int high = this.entryCount;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (Long.compareUnsigned(keyAt(middle), key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        final ImmutableList.Builder<BookMove> bookMoves = ImmutableList.builder();
+        for (int i = low; i < this.entryCount && keyAt(i) == key; i++) {
+            final int offset = i * ENTRY_SIZE;
+            final Move move = decodeMove(board, this.entries.getShort(offset + 8) & 0xFFFF);
+            if (move != null) {
+                bookMoves.add(new BookMove(move, this.entries.getShort(offset + 10) & 0xFFFF));
+            }
+        }
+        return bookMoves.build();
+    }
+
+    private long keyAt(final int index) {
+        return this.entries.getLong(index * ENTRY_SIZE);
+    }
+
+    // Polyglot numbers promotions as MoveCodec does, only its squares and castling differ
+    static Move decodeMove(final Board board, final int polyglotMove) {
+        final int from = PolyglotKeys.coordinate(((polyglotMove >>> 9) & 0x7) * BoardUtils.NUM_TILES_PER_ROW + ((polyglotMove >>> 6) & 0x7));
+        int to = PolyglotKeys.coordinate(((polyglotMove >>> 3) & 0x7) * BoardUtils.NUM_TILES_PER_ROW + (polyglotMove & 0x7));
+        final int promotion = (polyglotMove >>> 12) & 0x7;
+        final Piece piece = board.getTile(from).getPiece();
+        if (piece != null && piece.getPieceType() == Piece.PieceType.KING && piece.isFirstMove()) {
+            final Piece target = board.getTile(to).getPiece();
+            if (target != null && target.getPieceType() == Piece.PieceType.ROOK &&
+                target.getPieceAlliance() == piece.getPieceAlliance()) {
+                to = to > from ? from + 2 : from - 2;
+            }
+        }
+        return MoveCodec.decode(board, from | (to << 6) | (promotion << 12));
+    }
+
+}
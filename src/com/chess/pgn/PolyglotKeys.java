@@ -0,0 +1,121 @@
+package com.chess.pgn;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.pieces.Piece;
+import com.google.common.collect.ImmutableMap;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// the position key Polyglot books are indexed by, which differs from Board.getZobristHash:
+//   pieces      64 * kind + 8 * rank + file, kind 0..11 alternating black and white from pawn to king
+//   castling    768 + (white short, white long, black short, black long)
+//   en passant  772 + file, only when a pawn of the side to move can actually capture
+//   turn        780 when white is to move
+// the 781 Random64 constants are Polyglot's own; a copy is only accepted when it reproduces every key the
+// format description publishes, which between them cover castling, en passant and the turn
+public final class PolyglotKeys {
+
+    private static final int RANDOM_COUNT = 781;
+    private static final int CASTLING_OFFSET = 768;
+    private static final int EN_PASSANT_OFFSET = 772;
+    private static final int TURN_OFFSET = 780;
+
+    // keys given in the Polyglot book format description, starting position first
+    private static final ImmutableMap<String, Long> PUBLISHED_KEYS = ImmutableMap.<String, Long>builder()
+            .put("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1", 0x463B96181691FC9CL)
+            .put("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1", 0x823C9B50FD114196L)
+            .put("rnbqkbnr/ppp1pppp/8/3p4/4P3/8/PPPP1PPP/RNBQKBNR w KQkq d6 0 2", 0x0756B94461C50FB0L)
+            .put("rnbqkbnr/ppp1pppp/8/3pP3/8/8/PPPP1PPP/RNBQKBNR b KQkq - 0 2", 0x662FAFB965DB29D4L)
+            .put("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3", 0x22A48B5A8E47FF78L)
+            .put("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPPKPPP/RNBQ1BNR b kq - 0 3", 0x652A607CA3F242C1L)
+            .put("rnbq1bnr/ppp1pkpp/8/3pPp2/8/8/PPPPKPPP/RNBQ1BNR w - - 0 4", 0x00FDD303C946BDD9L)
+            .put("rnbqkbnr/p1pppppp/8/8/PpP4P/8/1P1PPPP1/RNBQKBNR b KQkq c3 0 3", 0x3C8123EA7B067637L)
+            .put("rnbqkbnr/p1pppppp/8/8/P6P/R1p5/1P1PPPP1/1NBQKBNR b Kkq - 0 4", 0x5C3F9B829B279560L)
+            .build();
+
+    private static final Pattern HEX_CONSTANT = Pattern.compile("0x([0-9A-Fa-f]{16})");
+
+    private final long[] randoms;
+
+    // unchecked, so tests can hash with their own constants; real books go through load
+    public PolyglotKeys(final long[] randoms) {
+        this.randoms = randoms;
+    }
+
+    // either 781 big-endian longs, or text holding them as 0x... literals, such as the Random64 array of
+    // Polyglot's sources; rejected unless every published position hashes to its key
+    public static PolyglotKeys load(final File randomsFile) throws IOException {
+        final byte[] bytes = Files.readAllBytes(randomsFile.toPath());
+        final long[] randoms = new long[RANDOM_COUNT];
+        if (bytes.length == RANDOM_COUNT * Long.BYTES) {
+            ByteBuffer.wrap(bytes).asLongBuffer().get(randoms);
+        } else {
+            final Matcher matcher = HEX_CONSTANT.matcher(new String(bytes, StandardCharsets.ISO_8859_1));
+            int count = 0;
+            while (matcher.find()) {
+                if (count == RANDOM_COUNT) {
+                    throw new IOException(randomsFile + " holds more than " + RANDOM_COUNT + " constants");
+                }
+                randoms[count++] = Long.parseUnsignedLong(matcher.group(1), 16);
+            }
+            if (count != RANDOM_COUNT) {
+                throw new IOException(randomsFile + " holds " + count + " constants, not " + RANDOM_COUNT);
+            }
+        }
+        final PolyglotKeys keys = new PolyglotKeys(randoms);
+        for (final Map.Entry<String, Long> published : PUBLISHED_KEYS.entrySet()) {
+            if (keys.getKey(FenUtilities.createGameFromFEN(published.getKey())) != published.getValue()) {
+                throw new IOException(randomsFile + " does not hold the Polyglot Random64 constants, " +
+                        published.getKey() + " does not hash to " + Long.toHexString(published.getValue()));
+            }
+        }
+        return keys;
+    }
+
+    public long getKey(final Board board) {
+        long key = 0;
+        for (final Piece piece : board.getAllPieces()) {
+            final int kind = 2 * piece.getPieceType().ordinal() + (piece.getPieceAlliance().isWhite() ? 1 : 0);
+            key ^= this.randoms[64 * kind + square(piece.getPiecePosition())];
+        }
+        if (board.hasCastlingRight(60, 63)) {
+            key ^= this.randoms[CASTLING_OFFSET];
+        }
+        if (board.hasCastlingRight(60, 56)) {
+            key ^= this.randoms[CASTLING_OFFSET + 1];
+        }
+        if (board.hasCastlingRight(4, 7)) {
+            key ^= this.randoms[CASTLING_OFFSET + 2];
+        }
+        if (board.hasCastlingRight(4, 0)) {
+            key ^= this.randoms[CASTLING_OFFSET + 3];
+        }
+        if (board.canCaptureEnPassant()) {
+            key ^= this.randoms[EN_PASSANT_OFFSET + board.getEnPassantPawn().getPiecePosition() % BoardUtils.NUM_TILES_PER_ROW];
+        }
+        if (board.currentPlayer().getAlliance().isWhite()) {
+            key ^= this.randoms[TURN_OFFSET];
+        }
+        return key;
+    }
+
+    // Polyglot squares count from a1, board coordinates from a8
+    public static int square(final int coordinate) {
+        return (BoardUtils.NUM_TILES_PER_ROW - 1 - coordinate / BoardUtils.NUM_TILES_PER_ROW) * BoardUtils.NUM_TILES_PER_ROW +
+                coordinate % BoardUtils.NUM_TILES_PER_ROW;
+    }
+
+    // flipping the rank back, the mapping is its own inverse
+    public static int coordinate(final int square) {
+        return square(square);
+    }
+
+}
@@ -0,0 +1,437 @@
+package com.chess.pgn;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// every (position hash, game id, ply) of a game archive, sorted by hash into two memory-mapped columns:
+//   header  magic, version, occurrence count
+//   hashes  one long per occurrence, ascending
+//   values  game id << 32 | ply << 17 | result << 15 | MoveCodec move played from the position
+// lookups search the hash column only and read the values of the matching range
+public final class PositionIndex implements Closeable {
+
+    private static final int MAGIC = 0x43504931;
+    // 2: moves in MoveCodec form
+    // 3: en passant hashed only when a capture is possible
+    private static final int VERSION = 3;
+    private static final int HEADER_SIZE = 16;
+
+    // longs per mapped segment, so columns past 2GB still map
+    private static final int SEGMENT_SHIFT = 27;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    // occurrences a build worker sorts in memory before spilling them to a run file
+    private static final int RUN_SIZE = 1 << 20;
+    private static final int GAMES_PER_TASK = 64;
+
+    private static final int WHITE_WIN = 0;
+    private static final int DRAW = 1;
+    private static final int BLACK_WIN = 2;
+    private static final int UNKNOWN = 3;
+
+    private final FileChannel channel;
+    private final long count;
+    private final LongBuffer[] hashes;
+    private final LongBuffer[] values;
+
+    private PositionIndex(final File file) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        if (this.channel.size() < HEADER_SIZE) {
+            throw new IOException(file + " is not a position index");
+        }
+        final ByteBuffer header = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException(file + " is not a position index");
+        }
+        this.count = header.getLong();
+        if (this.channel.size() != HEADER_SIZE + 2 * this.count * Long.BYTES) {
+            throw new IOException(file + " is truncated");
+        }
+        this.hashes = map(HEADER_SIZE);
+        this.values = map(HEADER_SIZE + this.count * Long.BYTES);
+    }
+
+    public static PositionIndex open(final File file) throws IOException {
+        return new PositionIndex(file);
+    }
+
+    public static PositionIndex build(final GameArchiveReader archive, final File file) throws IOException {
+        return build(archive, file, Math.max(1, Runtime.getRuntime().availableProcessors()));
+    }
+
+    public static PositionIndex build(final GameArchiveReader archive,
+                                      final File file,
+                                      final int workerCount) throws IOException {
+        return build(archive, file, workerCount, RUN_SIZE);
+    }
+
+    // workers replay disjoint games and spill sorted runs of up to runSize occurrences next to the index,
+    // which are then merged into it
+    public static PositionIndex build(final GameArchiveReader archive,
+                                      final File file,
+                                      final int workerCount,
+                                      final int runSize) throws IOException {
+        if (workerCount < 1 || runSize < 1) {
+            throw new IllegalArgumentException("Need at least one worker and one occurrence per run");
+        }
+        final File directory = file.getAbsoluteFile().getParentFile();
+        final List<File> runs = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger nextGame = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(workerCount, runnable -> {
+            final Thread thread = new Thread(runnable, "position-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<?>> workers = new ArrayList<>(workerCount);
+            for (int i = 0; i < workerCount; i++) {
+                workers.add(executor.submit(() -> collect(archive, nextGame, directory, runs, runSize)));
+            }
+            for (final Future<?> worker : workers) {
+                worker.get();
+            }
+            merge(runs, file);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Building " + file + " interrupted", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IOException("Building " + file + " failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            for (final File run : runs) {
+                run.delete();
+            }
+        }
+        return open(file);
+    }
+
+    public long getOccurrenceCount() {
+        return this.count;
+    }
+
+    public long getOccurrenceCount(final Board board) {
+        final long hash = board.getZobristHash();
+        return search(hash, true) - search(hash, false);
+    }
+
+    // every time a game reached the position, by game id then ply
+    public ImmutableList<Occurrence> getOccurrences(final Board board) {
+        final long hash = board.getZobristHash();
+        final long to = search(hash, true);
+        final ImmutableList.Builder<Occurrence> occurrences = ImmutableList.builder();
+        for (long i = search(hash, false); i < to; i++) {
+            final long value = get(this.values, i);
+            occurrences.add(new Occurrence((int) (value >>> 32), (int) (value >>> 17) & 0x7FFF));
+        }
+        return occurrences.build();
+    }
+
+    // most played first, over games with a known result
+    public ImmutableList<MoveStatistics> getMoveStatistics(final Board board) {
+        final long hash = board.getZobristHash();
+        final long to = search(hash, true);
+        final Map<Integer, int[]> results = new HashMap<>();
+        for (long i = search(hash, false); i < to; i++) {
+            final long value = get(this.values, i);
+            final int encodedMove = (int) value & 0x7FFF;
+            final int result = (int) (value >>> 15) & 0x3;
+            if (encodedMove != MoveCodec.NO_MOVE && result != UNKNOWN) {
+                results.computeIfAbsent(encodedMove, move -> new int[3])[result]++;
+            }
+        }
+        final List<MoveStatistics> statistics = new ArrayList<>(results.size());
+        for (final Map.Entry<Integer, int[]> entry : results.entrySet()) {
+            final Move move = MoveCodec.decode(board, entry.getKey());
+            if (move != null) {
+                statistics.add(new MoveStatistics(move, entry.getValue()[WHITE_WIN], entry.getValue()[DRAW],
+                        entry.getValue()[BLACK_WIN]));
+            }
+        }
+        statistics.sort((first, second) -> Integer.compare(second.getGames(), first.getGames()));
+        return ImmutableList.copyOf(statistics);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    // first index whose hash is above (after) or at least (!after) the given one; Zobrist hashes are uniform,
+    // so interpolation steps land close, and alternating them with bisection bounds the worst case
+    private long search(final long hash, final boolean after) {
+        long low = 0;
+        long high = this.count;
+        boolean interpolate = true;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (interpolate) {
+                final double first = get(this.hashes, low);
+                final double last = get(this.hashes, high - 1);
+                if (last > first) {
+                    final double fraction = Math.max(0, Math.min(1, (hash - first) / (last - first)));
+                    middle = low + (long) ((high - 1 - low) * fraction);
+                }
+            }
+            interpolate = !interpolate;
+            final long current = get(this.hashes, middle);
+            if (current < hash || (after && current == hash)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private LongBuffer[] map(final long offset) throws IOException {
+        final LongBuffer[] segments = new LongBuffer[(int) ((this.count + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+        for (int i = 0; i < segments.length; i++) {
+            final long first = (long) i << SEGMENT_SHIFT;
+            final long length = Math.min(this.count - first, 1L << SEGMENT_SHIFT);
+            final MappedByteBuffer buffer = this.channel.map(FileChannel.MapMode.READ_ONLY,
+                    offset + first * Long.BYTES, length * Long.BYTES);
+            segments[i] = buffer.asLongBuffer();
+        }
+        return segments;
+    }
+
+    private static long get(final LongBuffer[] segments, final long index) {
+        return segments[(int) (index >>> SEGMENT_SHIFT)].get((int) (index & SEGMENT_MASK));
+    }
+
+    private static void collect(final GameArchiveReader archive,
+                                final AtomicInteger nextGame,
+                                final File directory,
+                                final List<File> runs,
+                                final int runSize) {
+        final PendingRun run = new PendingRun(runSize);
+        try {
+            int first;
+            while ((first = nextGame.getAndAdd(GAMES_PER_TASK)) < archive.getGameCount()) {
+                final int last = Math.min(first + GAMES_PER_TASK, archive.getGameCount());
+                for (int gameId = first; gameId < last; gameId++) {
+                    final long game = (long) gameId << 32;
+                    archive.replay(gameId, (outcome, ply, positionHash, move) -> {
+                        if (run.size == run.hashes.length) {
+                            run.spill(directory, runs);
+                        }
+                        // the last position of a game has no move played from it
+                        final long encodedMove = move != null ? MoveCodec.encode(move) : MoveCodec.NO_MOVE;
+                        run.hashes[run.size] = positionHash;
+                        run.values[run.size] = game | ((long) ply << 17) | (result(outcome) << 15) | encodedMove;
+                        run.size++;
+                    });
+                }
+            }
+            if (run.size > 0) {
+                run.spill(directory, runs);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static File spill(final long[] hashes,
+                              final long[] values,
+                              final int size,
+                              final File directory) throws IOException {
+        sort(hashes, values, 0, size - 1);
+        final File run = File.createTempFile("positions", ".run", directory);
+        try (FileChannel channel = FileChannel.open(run.toPath(), StandardOpenOption.WRITE)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(size * 2 * Long.BYTES);
+            for (int i = 0; i < size; i++) {
+                buffer.putLong(hashes[i]).putLong(values[i]);
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        return run;
+    }
+
+    // k-way merge of the sorted runs into the two columns of the index
+    private static void merge(final List<File> runs, final File file) throws IOException {
+        final PriorityQueue<Run> queue = new PriorityQueue<>();
+        long count = 0;
+        for (final File run : runs) {
+            try (FileChannel channel = FileChannel.open(run.toPath(), StandardOpenOption.READ)) {
+                final Run cursor = new Run(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+                count += channel.size() / (2 * Long.BYTES);
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).putLong(count);
+            write(channel, header.flip(), 0);
+            final ByteBuffer hashBuffer = ByteBuffer.allocate(1 << 16);
+            final ByteBuffer valueBuffer = ByteBuffer.allocate(1 << 16);
+            long hashPosition = HEADER_SIZE;
+            long valuePosition = HEADER_SIZE + count * Long.BYTES;
+            while (!queue.isEmpty()) {
+                final Run run = queue.poll();
+                if (!hashBuffer.hasRemaining()) {
+                    hashPosition = write(channel, hashBuffer.flip(), hashPosition);
+                    valuePosition = write(channel, valueBuffer.flip(), valuePosition);
+                    hashBuffer.clear();
+                    valueBuffer.clear();
+                }
+                hashBuffer.putLong(run.hash);
+                valueBuffer.putLong(run.value);
+                if (run.advance()) {
+                    queue.add(run);
+                }
+            }
+            write(channel, hashBuffer.flip(), hashPosition);
+            write(channel, valueBuffer.flip(), valuePosition);
+        }
+    }
+
+    private static long write(final FileChannel channel, final ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        return position;
+    }
+
+    // quicksort of both arrays by (hash, value); values are unique, so no two entries compare equal
+    private static void sort(final long[] hashes, final long[] values, int low, int high) {
+        while (high - low > 16) {
+            final int middle = (low + high) >>> 1;
+            final long pivotHash = hashes[middle];
+            final long pivotValue = values[middle];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (compare(hashes[i], values[i], pivotHash, pivotValue) < 0) {
+                    i++;
+                }
+                while (compare(hashes[j], values[j], pivotHash, pivotValue) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(hashes, values, i++, j--);
+                }
+            }
+            // recurse into the smaller half to bound the stack
+            if (j - low < high - i) {
+                sort(hashes, values, low, j);
+                low = i;
+            } else {
+                sort(hashes, values, i, high);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && compare(hashes[j], values[j], hashes[j - 1], values[j - 1]) < 0; j--) {
+                swap(hashes, values, j, j - 1);
+            }
+        }
+    }
+
+    private static int compare(final long firstHash, final long firstValue, final long secondHash, final long secondValue) {
+        final int order = Long.compare(firstHash, secondHash);
+        return order != 0 ? order : Long.compare(firstValue, secondValue);
+    }
+
+    private static void swap(final long[] hashes, final long[] values, final int i, final int j) {
+        final long hash = hashes[i];
+        hashes[i] = hashes[j];
+        hashes[j] = hash;
+        final long value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+
+    private static long result(final String outcome) {
+        switch (outcome) {
+            case "1-0":
+                return WHITE_WIN;
+            case "1/2-1/2":
+                return DRAW;
+            case "0-1":
+                return BLACK_WIN;
+            default:
+                return UNKNOWN;
+        }
+    }
+
+    public record Occurrence(int gameId, int ply) {
+    }
+
+    // one worker's occurrences not yet spilled to a run file
+    private static final class PendingRun {
+
+        private final long[] hashes;
+        private final long[] values;
+        private int size;
+
+        PendingRun(final int runSize) {
+            this.hashes = new long[runSize];
+            this.values = new long[runSize];
+        }
+
+        void spill(final File directory, final List<File> runs) {
+            try {
+                runs.add(PositionIndex.spill(this.hashes, this.values, this.size, directory));
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.size = 0;
+        }
+    }
+
+    private static final class Run implements Comparable<Run> {
+
+        private final ByteBuffer buffer;
+        private long hash;
+        private long value;
+
+        Run(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        boolean advance() {
+            if (!this.buffer.hasRemaining()) {
+                return false;
+            }
+            this.hash = this.buffer.getLong();
+            this.value = this.buffer.getLong();
+            return true;
+        }
+
+        @Override
+        public int compareTo(final Run other) {
+            return compare(this.hash, this.value, other.hash, other.value);
+        }
+    }
+
+}
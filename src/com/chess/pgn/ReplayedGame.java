@@ -0,0 +1,55 @@
+package com.chess.pgn;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.MoveTransition;
+import com.google.common.collect.ImmutableList;
+
+// a PGN game whose SAN has been resolved into moves, with the hash of every position along the way
+public final class ReplayedGame {
+
+    private final PGNGame game;
+    private final ImmutableList<Move> moves;
+    private final long[] positionHashes;
+
+    ReplayedGame(final PGNGame game, final ImmutableList<Move> moves, final long[] positionHashes) {
+        this.game = game;
+        this.moves = moves;
+        this.positionHashes = positionHashes;
+    }
+
+    // throws IllegalArgumentException naming the first move that does not resolve to a legal move
+    public static ReplayedGame replay(final PGNGame game) {
+        final String fen = game.getTag("FEN");
+        Board board = fen != null ? FenUtilities.createGameFromFEN(fen) : Board.createStandardBoard();
+        final ImmutableList<String> notation = game.getMoves();
+        final ImmutableList.Builder<Move> moves = ImmutableList.builder();
+        final long[] positionHashes = new long[notation.size() + 1];
+        positionHashes[0] = board.getZobristHash();
+        for (int ply = 0; ply < notation.size(); ply++) {
+            final Move move = Move.MoveFactory.createMove(board, notation.get(ply));
+            final MoveTransition moveTransition = move == Move.NULL_MOVE ? null : board.currentPlayer().makeMove(move);
+            if (moveTransition == null || !moveTransition.getMoveStatus().isDone()) {
+                throw new IllegalArgumentException("Illegal move " + notation.get(ply) + " at ply " + (ply + 1));
+            }
+            board = moveTransition.getTransitionBoard();
+            moves.add(move);
+            positionHashes[ply + 1] = board.getZobristHash();
+        }
+        return new ReplayedGame(game, moves.build(), positionHashes);
+    }
+
+    public PGNGame getGame() {
+        return this.game;
+    }
+
+    public ImmutableList<Move> getMoves() {
+        return this.moves;
+    }
+
+    // ply 0 is the starting position, ply getMoves().size() the final one
+    public long getPositionHash(final int ply) {
+        return this.positionHashes[ply];
+    }
+
+}
@@ -0,0 +1,180 @@
+package com.chess.tests;
+
+import com.chess.engine.board.AlgebraicNotation;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.player.MoveTransition;
+import com.chess.pgn.EPDUtilities;
+import com.chess.pgn.FenUtilities;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestAlgebraicNotation {
+
+    @Test
+    public void testDisambiguation() {
+        final Board board = FenUtilities.createGameFromFEN("6k1/8/8/8/8/8/2N1N3/4K3 w - - 0 1");
+        assertMove(board, "Ncd4", "c2", "d4");
+        assertMove(board, "Ned4", "e2", "d4");
+        assertSame(Move.NULL_MOVE, AlgebraicNotation.resolve(board, "Nd4"));
+        assertEquals("Ncd4", AlgebraicNotation.toSan(board, AlgebraicNotation.resolve(board, "Nc2-d4")));
+
+        final Board rooks = FenUtilities.createGameFromFEN("6k1/8/R7/8/8/8/8/R3K3 w Q - 0 1");
+        assertMove(rooks, "R1a3", "a1", "a3");
+        assertMove(rooks, "R6a3", "a6", "a3");
+        assertEquals("R1a3", AlgebraicNotation.toSan(rooks, AlgebraicNotation.resolve(rooks, "a1a3")));
+    }
+
+    @Test
+    public void testPinnedTwin() {
+        // the e2 knight is pinned against its king, so the c2 knight is the only one that can go to d4
+        final Board board = FenUtilities.createGameFromFEN("4r1k1/8/8/8/8/8/2N1N3/4K3 w - - 0 1");
+        final Move move = assertMove(board, "Nd4", "c2", "d4");
+        assertEquals("Nd4", AlgebraicNotation.toSan(board, move));
+        assertMove(board, "Ncd4", "c2", "d4");
+    }
+
+    @Test
+    public void testIllegalSingleCandidates() {
+        // the only knight that reaches f3 is pinned by the c3 bishop
+        final Board pinnedKnight = FenUtilities.createGameFromFEN("4k3/8/8/8/8/2b5/3N4/4K3 w - - 0 1");
+        assertSame(Move.NULL_MOVE, AlgebraicNotation.resolve(pinnedKnight, "Nf3"));
+        assertSame(Move.NULL_MOVE, AlgebraicNotation.resolve(pinnedKnight, "d2f3"));
+        assertMove(pinnedKnight, "Kf2", "e1", "f2");
+
+        final Board rookFile = FenUtilities.createGameFromFEN("3rk3/8/8/8/8/8/8/4K3 w - - 0 1");
+        assertSame(Move.NULL_MOVE, AlgebraicNotation.resolve(rookFile, "Kd2"));
+        assertSame(Move.NULL_MOVE, AlgebraicNotation.resolve(rookFile, "e1d1"));
+        assertMove(rookFile, "Kf2", "e1", "f2");
+    }
+
+    @Test
+    public void testIllegalPawnMoves() {
+        final Board pinnedPawn = FenUtilities.createGameFromFEN("4k3/8/8/b7/8/8/3P4/4K3 w - - 0 1");
+        assertSame(Move.NULL_MOVE, AlgebraicNotation.resolve(pinnedPawn, "d3"));
+        assertSame(Move.NULL_MOVE, AlgebraicNotation.resolve(pinnedPawn, "d4"));
+        assertSame(Move.NULL_MOVE, AlgebraicNotation.resolve(pinnedPawn, "d2d4"));
+
+        // the king is in check, and a pawn move does nothing about it
+        final Board inCheck = FenUtilities.createGameFromFEN("4k3/8/8/8/8/8/P7/4K2r w - - 0 1");
+        assertSame(Move.NULL_MOVE, AlgebraicNotation.resolve(inCheck, "a3"));
+        assertSame(Move.NULL_MOVE, AlgebraicNotation.resolve(inCheck, "a4"));
+    }
+
+    @Test
+    public void testCastlingOutOfCheck() {
+        final Board board = FenUtilities.createGameFromFEN("4r1k1/8/8/8/8/8/8/4K2R w K - 0 1");
+        assertSame(Move.NULL_MOVE, AlgebraicNotation.resolve(board, "O-O"));
+        assertSame(Move.NULL_MOVE, AlgebraicNotation.resolve(board, "e1g1"));
+    }
+
+    @Test
+    public void testEPDRejectsIllegalMoves() {
+        assertThrows(IllegalArgumentException.class,
+                () -> EPDUtilities.parseEPD("4k3/8/8/8/8/2b5/3N4/4K3 w - - bm Nf3; id \"pinned\";"));
+        assertEquals(1, EPDUtilities.parseEPD("4k3/8/8/8/8/2b5/3N4/4K3 w - - bm Kf2; id \"king\";").getBestMoves().size());
+    }
+
+    @Test
+    public void testEnPassant() {
+        final Board board = FenUtilities.createGameFromFEN("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3");
+        final Move move = assertMove(board, "exf6", "e5", "f6");
+        assertTrue(move instanceof Move.PawnEnPassantAttackMove);
+        assertEquals("exf6", AlgebraicNotation.toSan(board, move));
+        assertTrue(assertMove(board, "e5f6", "e5", "f6") instanceof Move.PawnEnPassantAttackMove);
+        final Board after = play(board, move);
+        assertEquals(null, after.getTile(BoardUtils.getAlgebraicCoordinateAtChessPosition("f5")).getPiece());
+        // the d5 pawn jumped a move earlier, so it can no longer be taken in passing
+        assertSame(Move.NULL_MOVE, AlgebraicNotation.resolve(board, "exd6"));
+    }
+
+    @Test
+    public void testPromotion() {
+        final Board board = FenUtilities.createGameFromFEN("8/4P3/8/8/8/8/8/k5K1 w - - 0 1");
+        for (final String notation : new String[] {"e8=N", "e8N", "e7e8n", "e7-e8=N"}) {
+            final Move move = assertMove(board, notation, "e7", "e8");
+            assertEquals(Piece.PieceType.KNIGHT, ((Move.PawnPromotionMove) move).getPromotionType(), notation);
+            assertEquals("e8=N", AlgebraicNotation.toSan(board, move));
+        }
+        assertEquals(Piece.PieceType.QUEEN, ((Move.PawnPromotionMove) assertMove(board, "e8", "e7", "e8")).getPromotionType());
+        assertEquals(Piece.PieceType.QUEEN, ((Move.PawnPromotionMove) assertMove(board, "e8=Q+", "e7", "e8")).getPromotionType());
+        assertEquals(Piece.PieceType.ROOK, ((Move.PawnPromotionMove) assertMove(board, "e7e8r", "e7", "e8")).getPromotionType());
+        assertSame(Move.NULL_MOVE, AlgebraicNotation.resolve(board, "e8=K"));
+        assertSame(Move.NULL_MOVE, AlgebraicNotation.resolve(board, "Ne8"));
+    }
+
+    @Test
+    public void testCastling() {
+        final Board white = FenUtilities.createGameFromFEN("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        for (final String notation : new String[] {"O-O", "0-0", "e1g1", "Ke1-g1"}) {
+            final Move move = assertMove(white, notation, "e1", "g1");
+            assertTrue(move.isCastlingMove() && !(move instanceof Move.QeenSideCastleMove), notation);
+            assertEquals("O-O", AlgebraicNotation.toSan(white, move));
+        }
+        for (final String notation : new String[] {"O-O-O", "0-0-0", "e1c1"}) {
+            final Move move = assertMove(white, notation, "e1", "c1");
+            assertTrue(move instanceof Move.QeenSideCastleMove, notation);
+            assertEquals("O-O-O", AlgebraicNotation.toSan(white, move));
+        }
+
+        final Board black = FenUtilities.createGameFromFEN("r3k2r/8/8/8/8/8/8/R3K2R b KQkq - 0 1");
+        assertTrue(assertMove(black, "O-O", "e8", "g8").isCastlingMove());
+        assertTrue(assertMove(black, "e8g8", "e8", "g8").isCastlingMove());
+        assertTrue(assertMove(black, "O-O-O", "e8", "c8") instanceof Move.QeenSideCastleMove);
+        assertTrue(assertMove(black, "e8c8", "e8", "c8") instanceof Move.QeenSideCastleMove);
+
+        final Board noRights = FenUtilities.createGameFromFEN("r3k2r/8/8/8/8/8/8/R3K2R w - - 0 1");
+        assertSame(Move.NULL_MOVE, AlgebraicNotation.resolve(noRights, "O-O"));
+        assertSame(Move.NULL_MOVE, AlgebraicNotation.resolve(noRights, "e1g1"));
+    }
+
+    @Test
+    public void testSanRoundTrip() {
+        final String[] fens = {
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                "r2q1rk1/pP1p2pp/Q4n2/bbp1p3/Np6/1B3NBn/pPPP1PPP/R3K2R b KQ - 0 1",
+                "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                "1k6/8/8/3N1N2/8/3N1N2/8/1K6 w - - 0 1"
+        };
+        for (final String fen : fens) {
+            final Board board = FenUtilities.createGameFromFEN(fen);
+            for (final Move move : board.currentPlayer().getLegalMoves()) {
+                if (!board.currentPlayer().makeMove(move).getMoveStatus().isDone()) {
+                    continue;
+                }
+                final String san = AlgebraicNotation.toSan(board, move);
+                final Move resolved = AlgebraicNotation.resolve(board, san);
+                assertEquals(move, resolved, fen + " " + san);
+                if (move instanceof Move.PawnPromotionMove) {
+                    assertEquals(((Move.PawnPromotionMove) move).getPromotionType(),
+                            ((Move.PawnPromotionMove) resolved).getPromotionType(), fen + " " + san);
+                }
+            }
+        }
+    }
+
+    private static Move assertMove(final Board board, final String notation, final String from, final String to) {
+        final Move move = AlgebraicNotation.resolve(board, notation);
+        assertFalse(move == Move.NULL_MOVE, notation);
+        assertEquals(BoardUtils.getAlgebraicCoordinateAtChessPosition(from), move.getCurrentCoordinate(), notation);
+        assertEquals(BoardUtils.getAlgebraicCoordinateAtChessPosition(to), move.getDestinationCoordinate(), notation);
+        return move;
+    }
+
+    private static Board play(final Board board, final Move move) {
+        final MoveTransition transition = board.currentPlayer().makeMove(move);
+        assertTrue(transition.getMoveStatus().isDone());
+        return transition.getTransitionBoard();
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.chess.tests;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.MoveTransition;
+import com.chess.pgn.FenUtilities;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestDrawDetection {
+
+    @Test
+    public void testRepetitionAfterDoublePush() {
+        // the position after 1...e5 comes back after 3...Nb8 and again after 5...Nb8
+        Board board = play(Board.createStandardBoard(), "e4", "e5");
+        final long afterDoublePush = board.getZobristHash();
+        board = play(board, "Nf3", "Nc6", "Ng1", "Nb8");
+        assertEquals(afterDoublePush, board.getZobristHash());
+        assertFalse(board.isDrawByRepetition());
+        board = play(board, "Nf3", "Nc6", "Ng1");
+        assertFalse(board.isDrawByRepetition());
+        board = play(board, "Nb8");
+        assertTrue(board.isDrawByRepetition());
+        assertTrue(board.isDraw());
+    }
+
+    @Test
+    public void testPawnMoveEndsRepetitions() {
+        Board board = play(Board.createStandardBoard(), "Nf3", "Nf6", "Ng1", "Ng8", "Nf3", "Nf6", "Ng1");
+        assertFalse(board.isDrawByRepetition());
+        board = play(board, "e5");
+        assertEquals(0, board.getHalfmoveClock());
+        assertEquals(0, board.getPositionHistory().size());
+    }
+
+    @Test
+    public void testFiftyMoveRule() {
+        final Board board = FenUtilities.createGameFromFEN("4k3/8/8/8/8/8/8/4K2R w - - 99 80");
+        assertFalse(board.isDrawByFiftyMoveRule());
+        assertTrue(play(board, "Rh2").isDrawByFiftyMoveRule());
+    }
+
+    @Test
+    public void testNullMoveKeepsClock() {
+        final Board board = play(Board.createStandardBoard(), "Nf3", "Nf6", "Ng1");
+        final Board passed = Move.MoveFactory.createNullMove(board).execute();
+        assertEquals(board.getHalfmoveClock() + 1, passed.getHalfmoveClock());
+        // the positions before the pass cannot be repeated through it
+        assertEquals(0, passed.getPositionHistory().size());
+    }
+
+    private static Board play(Board board, final String... moves) {
+        for (final String san : moves) {
+            final Move move = Move.MoveFactory.createMove(board, san);
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            assertTrue(transition.getMoveStatus().isDone(), san);
+            board = transition.getTransitionBoard();
+        }
+        return board;
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.chess.tests;
+
+import com.chess.engine.player.ai.EvaluationKernels;
+import com.chess.engine.player.ai.ScalarEvaluationKernels;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class TestEvaluationKernels {
+
+    @Test
+    public void testVectorDotMatchesScalar() {
+        assumeTrue(EvaluationKernels.isVectorApiAvailable(), "the vector kernels need jdk.incubator.vector");
+        final EvaluationKernels vector = EvaluationKernels.create();
+        assertTrue(vector.toString().startsWith("vector"), vector.toString());
+        final EvaluationKernels scalar = new ScalarEvaluationKernels();
+
+        final Random random = new Random(30);
+        // every length up to a few vectors plus tail, with small values as the evaluator uses and full range ones that wrap
+        for (int length = 0; length <= 80; length++) {
+            for (final boolean wrapping : new boolean[] {false, true}) {
+                final int[] features = new int[length + 3];
+                final int[] weights = new int[length + 3];
+                for (int i = 0; i < features.length; i++) {
+                    features[i] = wrapping ? random.nextInt() : random.nextInt(3);
+                    weights[i] = wrapping ? random.nextInt() : random.nextInt(401) - 200;
+                }
+                assertEquals(scalar.dot(features, weights, length), vector.dot(features, weights, length),
+                        "length " + length);
+            }
+        }
+    }
+
+}
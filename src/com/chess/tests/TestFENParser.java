@@ -1,43 +1,95 @@
 package com.chess.tests;
 
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.MoveTransition;
 import com.chess.pgn.FenUtilities;
-import com.chess.engine.classic.board.Board;
-import com.chess.engine.classic.board.BoardUtils;
-import com.chess.engine.classic.board.Move;
-import com.chess.engine.classic.board.MoveTransition;
-import org.junit.Test;
-
-import java.io.IOException;
-
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertTrue;
+import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestFENParser {
 
     @Test
-    public void testWriteFEN1() throws IOException {
+    public void testWriteFEN1() {
         final Board board = Board.createStandardBoard();
         final String fenString = FenUtilities.createFENFromGame(board);
-        assertEquals(fenString, "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+        assertEquals("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1", fenString);
     }
 
     @Test
-    public void testWriteFEN2() throws IOException {
+    public void testWriteFEN2() {
         final Board board = Board.createStandardBoard();
-        final MoveTransition t1 = board.currentPlayer()
-                .makeMove(Move.MoveFactory.createMove(board, BoardUtils.INSTANCE.getCoordinateAtPosition("e2"),
-                        BoardUtils.INSTANCE.getCoordinateAtPosition("e4")));
-        assertTrue(t1.getMoveStatus().isDone());
-        final String fenString = FenUtilities.createFENFromGame(t1.getToBoard());
-        assertEquals(fenString, "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1");
-        final MoveTransition t2 = t1.getToBoard().currentPlayer()
-                .makeMove(Move.MoveFactory.createMove(t1.getToBoard(), BoardUtils.INSTANCE.getCoordinateAtPosition("c7"),
-                        BoardUtils.INSTANCE.getCoordinateAtPosition("c5")));
-        assertTrue(t2.getMoveStatus().isDone());
-        final String fenString2 = FenUtilities.createFENFromGame(t2.getToBoard());
-        assertEquals(fenString2, "rnbqkbnr/pp1ppppp/8/2p5/4P3/8/PPPP1PPP/RNBQKBNR w KQkq c6 0 1");
+        final Board b1 = play(board, "e4");
+        assertEquals("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1", FenUtilities.createFENFromGame(b1));
+        final Board b2 = play(b1, "c5");
+        assertEquals("rnbqkbnr/pp1ppppp/8/2p5/4P3/8/PPPP1PPP/RNBQKBNR w KQkq c6 0 2", FenUtilities.createFENFromGame(b2));
+        final Board b3 = play(b2, "Nf3");
+        assertEquals("rnbqkbnr/pp1ppppp/8/2p5/4P3/5N2/PPPP1PPP/RNBQKB1R b KQkq - 1 2", FenUtilities.createFENFromGame(b3));
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final String[] fens = {
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+                "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3",
+                "4k3/8/8/8/8/8/8/4K2R b K - 12 40"
+        };
+        for (final String fen : fens) {
+            assertEquals(fen, FenUtilities.createFENFromGame(FenUtilities.createGameFromFEN(fen)));
+        }
+    }
+
+    @Test
+    public void testRoundTripAfterMoves() {
+        Board board = Board.createStandardBoard();
+        for (final String san : new String[] {"e4", "d5", "e5", "f5", "exf6", "Nxf6", "Nf3", "Bg4", "Bc4", "Nc6", "O-O", "Qd7"}) {
+            board = play(board, san);
+            final String fen = FenUtilities.createFENFromGame(board);
+            final Board parsed = FenUtilities.createGameFromFEN(fen);
+            assertEquals(fen, FenUtilities.createFENFromGame(parsed));
+            assertEquals(board.getZobristHash(), parsed.getZobristHash(), fen);
+        }
+    }
+
+    @Test
+    public void testMissingKing() {
+        assertInvalid("rnbq1bnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQ - 0 1");
+        assertInvalid("8/8/8/8/8/8/8/8 w - - 0 1");
+    }
+
+    @Test
+    public void testTwoKings() {
+        assertInvalid("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBKKBNR w kq - 0 1");
+    }
+
+    @Test
+    public void testRankWidth() {
+        assertInvalid("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPP/RNBQKBNR w KQkq - 0 1");
+        assertInvalid("rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+        assertInvalid("rnbqkbnr/pppppppp/7/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+        assertInvalid("rnbqkbnr/pppppppp/44/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+        assertInvalid("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP w KQkq - 0 1");
+        assertInvalid("rnbqkbnrp/ppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+    }
+
+    private static void assertInvalid(final String fen) {
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> FenUtilities.createGameFromFEN(fen));
+        assertTrue(e.getMessage().contains(fen), e.getMessage());
+    }
 
+    private static Board play(final Board board, final String san) {
+        final Move move = Move.MoveFactory.createMove(board, san);
+        final MoveTransition transition = board.currentPlayer().makeMove(move);
+        assertTrue(transition.getMoveStatus().isDone(), san);
+        return transition.getTransitionBoard();
     }
 
 }
@@ -0,0 +1,192 @@
+package com.chess.tests;
+
+import com.chess.engine.board.AlgebraicNotation;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+import com.chess.pgn.FenUtilities;
+import com.chess.pgn.GameArchiveReader;
+import com.chess.pgn.GameArchiveWriter;
+import com.chess.pgn.MoveStatistics;
+import com.chess.pgn.PGNReader;
+import com.chess.pgn.PGNUtilities;
+import com.chess.pgn.PositionIndex;
+import com.chess.pgn.ReplayedGame;
+import com.google.common.io.Resources;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestGameArchive {
+
+    private static final String[] FILES = {
+            "t1.pgn", "t2.pgn", "t3.pgn", "t4.pgn", "t5.pgn", "t6.pgn", "t7.pgn", "t8.pgn", "t9.pgn", "t10.pgn",
+            "queenPromotion.pgn"
+    };
+
+    // enough copies of the bundled games that several index workers each take a share of them
+    private static final int COPIES = 24;
+
+    @TempDir
+    File tempDirectory;
+
+    @Test
+    public void testArchiveRoundTrip() throws IOException {
+        final List<ReplayedGame> games = readGames();
+        final File archiveFile = writeArchive(games, 1);
+        try (final GameArchiveReader archive = new GameArchiveReader(archiveFile)) {
+            assertEquals(games.size(), archive.getGameCount());
+            for (int gameId = 0; gameId < games.size(); gameId++) {
+                final ReplayedGame expected = games.get(gameId);
+                final ReplayedGame actual = archive.readGame(gameId);
+                final String name = FILES[gameId];
+                assertEquals(expected.getGame().getTags(), actual.getGame().getTags(), name);
+                assertEquals(expected.getGame().getOutcome(), actual.getGame().getOutcome(), name);
+                assertEquals(describe(expected.getMoves()), describe(actual.getMoves()), name);
+                assertEquals(toSan(expected), actual.getGame().getMoves(), name);
+                final int plies = expected.getMoves().size();
+                assertEquals(expected.getPositionHash(plies), actual.getPositionHash(plies), name);
+            }
+            int gameId = 0;
+            for (final ReplayedGame game : archive) {
+                assertEquals(games.get(gameId++).getPositionHash(0), game.getPositionHash(0));
+            }
+            assertEquals(games.size(), gameId);
+        }
+    }
+
+    @Test
+    public void testPositionIndex() throws IOException {
+        final List<ReplayedGame> games = readGames();
+        final File archiveFile = writeArchive(games, COPIES);
+
+        // every position of every copy, and what was played from it by result from white's side
+        final Map<Long, Integer> occurrences = new HashMap<>();
+        final Map<String, int[]> results = new HashMap<>();
+        final List<Board> positions = new ArrayList<>();
+        long total = 0;
+        for (final ReplayedGame game : games) {
+            final int result = result(game.getGame().getOutcome());
+            final List<Move> moves = game.getMoves();
+            for (int ply = 0; ply <= moves.size(); ply++) {
+                occurrences.merge(game.getPositionHash(ply), COPIES, Integer::sum);
+                total += COPIES;
+                if (ply < moves.size()) {
+                    positions.add(moves.get(ply).getBoard());
+                    if (result >= 0) {
+                        results.computeIfAbsent(key(game.getPositionHash(ply), moves.get(ply)), k -> new int[3])[result] += COPIES;
+                    }
+                }
+            }
+        }
+
+        // a run of 97 occurrences spills every few games, so the merge sees dozens of runs
+        try (final GameArchiveReader archive = new GameArchiveReader(archiveFile);
+             final PositionIndex index = PositionIndex.build(archive, new File(this.tempDirectory, "positions.idx"), 4, 97)) {
+            assertEquals(total, index.getOccurrenceCount());
+            for (final Board board : positions) {
+                final long hash = board.getZobristHash();
+                assertEquals((long) occurrences.get(hash), index.getOccurrenceCount(board));
+                int moveCount = 0;
+                for (final MoveStatistics statistics : index.getMoveStatistics(board)) {
+                    final int[] expected = results.get(key(hash, statistics.getMove()));
+                    assertNotNull(expected, statistics.toString());
+                    assertArrayEquals(expected, new int[] {statistics.getWhiteWins(), statistics.getDraws(), statistics.getBlackWins()});
+                    moveCount++;
+                }
+                final String prefix = hash + " ";
+                assertEquals(results.keySet().stream().filter(move -> move.startsWith(prefix)).count(), moveCount);
+            }
+            assertEquals(0, index.getOccurrenceCount(FenUtilities.createGameFromFEN("4k3/8/8/8/8/8/8/4K2R w K - 0 1")));
+        }
+        // only the index itself is left behind, the runs are deleted
+        final String[] files = this.tempDirectory.list();
+        assertNotNull(files);
+        assertEquals(2, files.length);
+    }
+
+    private File writeArchive(final List<ReplayedGame> games, final int copies) throws IOException {
+        final File archiveFile = new File(this.tempDirectory, "games.cga");
+        try (final GameArchiveWriter writer = new GameArchiveWriter(archiveFile)) {
+            for (int copy = 0; copy < copies; copy++) {
+                for (final ReplayedGame game : games) {
+                    writer.write(game);
+                }
+            }
+            assertEquals(games.size() * copies, writer.getGameCount());
+        }
+        return archiveFile;
+    }
+
+    private static List<ReplayedGame> readGames() throws IOException {
+        final List<ReplayedGame> games = new ArrayList<>();
+        for (final String name : FILES) {
+            try (final PGNReader reader = PGNUtilities.openPGNFile(resource(name))) {
+                assertTrue(reader.hasNext(), name);
+                games.add(ReplayedGame.replay(reader.next()));
+            }
+        }
+        return games;
+    }
+
+    private static List<String> toSan(final ReplayedGame game) {
+        final List<String> san = new ArrayList<>();
+        for (final Move move : game.getMoves()) {
+            san.add(AlgebraicNotation.toSan(move.getBoard(), move));
+        }
+        return san;
+    }
+
+    private static String key(final long hash, final Move move) {
+        return hash + " " + describe(move);
+    }
+
+    // Move.equals compares pieces by identity, so moves of two separate replays are compared by their squares
+    private static String describe(final Move move) {
+        final Piece.PieceType promotion = move instanceof Move.PawnPromotionMove ?
+                ((Move.PawnPromotionMove) move).getPromotionType() : null;
+        return move.getCurrentCoordinate() + " " + move.getDestinationCoordinate() + " " + promotion;
+    }
+
+    private static List<String> describe(final List<Move> moves) {
+        final List<String> descriptions = new ArrayList<>();
+        for (final Move move : moves) {
+            descriptions.add(describe(move));
+        }
+        return descriptions;
+    }
+
+    private static int result(final String outcome) {
+        switch (outcome) {
+            case "1-0":
+                return 0;
+            case "1/2-1/2":
+                return 1;
+            case "0-1":
+                return 2;
+            default:
+                return -1;
+        }
+    }
+
+    private static File resource(final String name) throws IOException {
+        try {
+            return new File(Resources.getResource("com/chess/tests/pgn/" + name).toURI());
+        } catch (final URISyntaxException e) {
+            throw new IOException(e);
+        }
+    }
+
+}
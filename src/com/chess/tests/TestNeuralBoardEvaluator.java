@@ -0,0 +1,234 @@
+package com.chess.tests;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.player.MoveTransition;
+import com.chess.engine.player.ai.EvaluationKernels;
+import com.chess.engine.player.ai.nnue.NetworkKernels;
+import com.chess.engine.player.ai.nnue.NetworkWeights;
+import com.chess.engine.player.ai.nnue.NeuralBoardEvaluator;
+import com.chess.engine.player.ai.nnue.ScalarNetworkKernels;
+import com.chess.pgn.FenUtilities;
+import com.chess.pgn.PGNReader;
+import com.chess.pgn.PGNUtilities;
+import com.chess.pgn.ReplayedGame;
+import com.google.common.io.Resources;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class TestNeuralBoardEvaluator {
+
+    private static final String[] FILES = {
+            "t1.pgn", "t2.pgn", "t3.pgn", "t4.pgn", "t5.pgn", "t6.pgn", "t7.pgn", "t8.pgn", "t9.pgn", "t10.pgn",
+            "queenPromotion.pgn"
+    };
+
+    // the layout NetworkWeights.load expects, written here as a trainer would
+    private static final int MAGIC = 0x4A434E4E;
+    private static final int VERSION = 1;
+    private static final int FEATURES = 64 * 5 * 2 * 64;
+
+    // sizes that are no multiple of any vector width, so the kernels' scalar tails run too
+    private static final int HIDDEN_SIZE = 44;
+    private static final int FIRST_LAYER_SIZE = 9;
+    private static final int SECOND_LAYER_SIZE = 7;
+
+    // pawns on both seventh ranks and a pawn that can take d5 in passing
+    private static final String PROMOTIONS = "r3k2r/1P4P1/8/3pP3/8/8/1p4p1/R3K2R w KQkq d6 0 1";
+
+    @TempDir
+    File tempDirectory;
+
+    private NeuralBoardEvaluator scalar;
+    private NeuralBoardEvaluator vector;
+    private final Set<String> playedKinds = new HashSet<>();
+    private final Set<Integer> scores = new HashSet<>();
+
+    @BeforeEach
+    public void loadNetwork() throws IOException {
+        final File networkFile = new File(this.tempDirectory, "network.nnue");
+        Files.write(networkFile.toPath(), randomNetwork(new Random(29)));
+        final NetworkWeights weights = NetworkWeights.load(networkFile.toPath());
+        final NetworkKernels kernels = NetworkKernels.create();
+        assumeTrue(EvaluationKernels.isVectorApiAvailable(), "the vector kernels need jdk.incubator.vector");
+        assertTrue(kernels.toString().startsWith("vector"), kernels.toString());
+        this.scalar = new NeuralBoardEvaluator(weights, new ScalarNetworkKernels());
+        this.vector = new NeuralBoardEvaluator(weights, kernels);
+    }
+
+    @Test
+    public void testBundledGames() throws IOException {
+        for (final String name : FILES) {
+            try (final PGNReader reader = PGNUtilities.openPGNFile(resource(name))) {
+                final ReplayedGame game = ReplayedGame.replay(reader.next());
+                for (final Move move : game.getMoves()) {
+                    check(move.getBoard());
+                    check(move.execute());
+                    note(move);
+                }
+            }
+        }
+        assertTrue(this.playedKinds.contains("promotion"), this.playedKinds.toString());
+    }
+
+    @Test
+    public void testSpecialMoves() {
+        Board board = play(Board.createStandardBoard(), "e4", "Nf6", "e5", "d5", "exd6", "exd6", "Nf3", "Be7",
+                "Bc4", "O-O", "O-O", "Kh8", "Kh1");
+        // a pass moves no piece, the accumulator carries straight over
+        board = Move.MoveFactory.createNullMove(board).execute();
+        check(board);
+        play(board, "Kg1");
+
+        play(Board.createStandardBoard(), "d4", "d5", "Nc3", "Nc6", "Bf4", "Bf5", "Qd2", "Qd7", "O-O-O", "O-O-O",
+                "Kb1", "Kb8");
+
+        play(FenUtilities.createGameFromFEN(PROMOTIONS), "exd6", "bxa1=N", "bxa8=R+", "Kf7", "gxh8=B", "gxh1=Q+", "Kd2");
+
+        for (final String kind : new String[] {"capture", "en passant", "king side castle", "queen side castle",
+                "king", "promotion", "capture promotion", "under promotion"}) {
+            assertTrue(this.playedKinds.contains(kind), kind);
+        }
+    }
+
+    @Test
+    public void testRandomGames() {
+        final Random random = new Random(30);
+        for (int game = 0; game < 6; game++) {
+            Board board = game % 2 == 0 ? Board.createStandardBoard() : FenUtilities.createGameFromFEN(PROMOTIONS);
+            check(board);
+            for (int ply = 0; ply < 200; ply++) {
+                final List<Move> legalMoves = new ArrayList<>();
+                for (final Move move : board.currentPlayer().getLegalMoves()) {
+                    if (board.currentPlayer().makeMove(move).getMoveStatus().isDone()) {
+                        legalMoves.add(move);
+                    }
+                }
+                if (legalMoves.isEmpty()) {
+                    break;
+                }
+                final Move move = legalMoves.get(random.nextInt(legalMoves.size()));
+                board = board.currentPlayer().makeMove(move).getTransitionBoard();
+                check(board);
+                note(move);
+            }
+        }
+        assertTrue(this.playedKinds.contains("capture promotion"), this.playedKinds.toString());
+        // a network clipped flat would make the kernel comparison trivial
+        assertTrue(this.scores.size() > 100, this.scores.toString());
+    }
+
+    private Board play(Board board, final String... moves) {
+        check(board);
+        for (final String san : moves) {
+            final Move move = Move.MoveFactory.createMove(board, san);
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            assertTrue(transition.getMoveStatus().isDone(), san);
+            board = transition.getTransitionBoard();
+            check(board);
+            note(move);
+        }
+        return board;
+    }
+
+    // the incrementally updated accumulators match a refresh, and both kernel sets agree to the bit
+    private void check(final Board board) {
+        final String fen = FenUtilities.createFENFromGame(board);
+        final short[][] refreshed = this.scalar.refreshAccumulator(board);
+        assertEquals(refreshed.length, this.vector.refreshAccumulator(board).length);
+        for (int perspective = 0; perspective < refreshed.length; perspective++) {
+            assertArrayEquals(refreshed[perspective], this.vector.refreshAccumulator(board)[perspective], fen);
+            assertArrayEquals(refreshed[perspective], this.scalar.getAccumulator(board)[perspective], fen);
+            assertArrayEquals(refreshed[perspective], this.vector.getAccumulator(board)[perspective], fen);
+        }
+        final int score = this.scalar.evaluate(board, 0);
+        assertEquals(score, this.vector.evaluate(board, 0), fen);
+        this.scores.add(score);
+    }
+
+    private void note(final Move move) {
+        if (move instanceof Move.KingSideCastleMove) {
+            this.playedKinds.add("king side castle");
+        } else if (move instanceof Move.QeenSideCastleMove) {
+            this.playedKinds.add("queen side castle");
+        } else if (move.getMovedPiece().getPieceType().isKing()) {
+            this.playedKinds.add("king");
+        }
+        if (move instanceof Move.PawnEnPassantAttackMove) {
+            this.playedKinds.add("en passant");
+        }
+        if (move.isAttack()) {
+            this.playedKinds.add("capture");
+        }
+        if (move instanceof Move.PawnPromotionMove) {
+            this.playedKinds.add("promotion");
+            if (move.isAttack()) {
+                this.playedKinds.add("capture promotion");
+            }
+            if (((Move.PawnPromotionMove) move).getPromotionType() != Piece.PieceType.QUEEN) {
+                this.playedKinds.add("under promotion");
+            }
+        }
+    }
+
+    // small weights keep the accumulator inside the clipped range most of the time, so every layer carries signal
+    private static byte[] randomNetwork(final Random random) {
+        final int size = 5 * Integer.BYTES + HIDDEN_SIZE * Short.BYTES + FEATURES * HIDDEN_SIZE * Short.BYTES +
+                FIRST_LAYER_SIZE * Integer.BYTES + FIRST_LAYER_SIZE * 2 * HIDDEN_SIZE +
+                SECOND_LAYER_SIZE * Integer.BYTES + SECOND_LAYER_SIZE * FIRST_LAYER_SIZE +
+                Integer.BYTES + SECOND_LAYER_SIZE;
+        final ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(HIDDEN_SIZE).putInt(FIRST_LAYER_SIZE).putInt(SECOND_LAYER_SIZE);
+        for (int i = 0; i < HIDDEN_SIZE; i++) {
+            buffer.putShort((short) random.nextInt(64));
+        }
+        for (int i = 0; i < FEATURES * HIDDEN_SIZE; i++) {
+            buffer.putShort((short) (random.nextInt(17) - 8));
+        }
+        for (int i = 0; i < FIRST_LAYER_SIZE; i++) {
+            buffer.putInt(random.nextInt(2048) - 1024);
+        }
+        for (int i = 0; i < FIRST_LAYER_SIZE * 2 * HIDDEN_SIZE; i++) {
+            buffer.put((byte) (random.nextInt(128) - 64));
+        }
+        for (int i = 0; i < SECOND_LAYER_SIZE; i++) {
+            buffer.putInt(random.nextInt(2048) - 1024);
+        }
+        for (int i = 0; i < SECOND_LAYER_SIZE * FIRST_LAYER_SIZE; i++) {
+            buffer.put((byte) (random.nextInt(128) - 64));
+        }
+        buffer.putInt(random.nextInt(2048) - 1024);
+        for (int i = 0; i < SECOND_LAYER_SIZE; i++) {
+            buffer.put((byte) (random.nextInt(128) - 64));
+        }
+        return buffer.array();
+    }
+
+    private static File resource(final String name) throws IOException {
+        try {
+            return new File(Resources.getResource("com/chess/tests/pgn/" + name).toURI());
+        } catch (final URISyntaxException e) {
+            throw new IOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,208 @@
+package com.chess.tests;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.player.ai.BookMoveStrategy;
+import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.ai.OpeningBook;
+import com.chess.engine.player.ai.SearchStatistics;
+import com.chess.pgn.FenUtilities;
+import com.chess.pgn.MappedOpeningBook;
+import com.chess.pgn.OpeningBookBuilder;
+import com.chess.pgn.PGNReader;
+import com.chess.pgn.PGNUtilities;
+import com.chess.pgn.ReplayedGame;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Resources;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestOpeningBook {
+
+    private static final String[] FILES = {
+            "t1.pgn", "t2.pgn", "t3.pgn", "t4.pgn", "t5.pgn", "t6.pgn", "t7.pgn", "t8.pgn", "t9.pgn", "t10.pgn",
+            "queenPromotion.pgn"
+    };
+
+    private static final int MAX_PLY = 12;
+    private static final int SCORE_SCALE = 10000;
+
+    @TempDir
+    File tempDirectory;
+
+    private final List<ReplayedGame> games = new ArrayList<>();
+    // wins, draws and losses from the mover's side of every move played within MAX_PLY of a finished game
+    private final Map<String, int[]> results = new HashMap<>();
+    private MappedOpeningBook book;
+
+    @BeforeEach
+    public void buildBook() throws IOException {
+        // adding every game twice puts each move over a minimum of two games
+        final OpeningBookBuilder builder = new OpeningBookBuilder(MAX_PLY, 2);
+        for (final String name : FILES) {
+            try (final PGNReader reader = PGNUtilities.openPGNFile(resource(name))) {
+                final ReplayedGame game = ReplayedGame.replay(reader.next());
+                this.games.add(game);
+                builder.acceptGame(game);
+                builder.acceptGame(game);
+                record(game);
+            }
+        }
+        final File bookFile = new File(this.tempDirectory, "book.bin");
+        builder.write(bookFile);
+        this.book = MappedOpeningBook.open(bookFile);
+        assertEquals(this.results.size(), this.book.getEntryCount());
+    }
+
+    @Test
+    public void testProbe() {
+        for (final ReplayedGame game : this.games) {
+            final List<Move> moves = game.getMoves();
+            for (int ply = 0; ply < Math.min(MAX_PLY, moves.size()); ply++) {
+                final Board board = moves.get(ply).getBoard();
+                final long hash = board.getZobristHash();
+                final ImmutableList<OpeningBook.BookMove> bookMoves = this.book.getBookMoves(board);
+                for (final OpeningBook.BookMove bookMove : bookMoves) {
+                    assertEquals(expectedWeight(hash, bookMove.move()), bookMove.weight(), bookMove.toString());
+                }
+                final String prefix = hash + " ";
+                assertEquals(this.results.keySet().stream().filter(move -> move.startsWith(prefix)).count(), bookMoves.size());
+            }
+        }
+        assertTrue(this.book.getBookMoves(FenUtilities.createGameFromFEN("4k3/8/8/8/8/8/8/4K2R w K - 0 1")).isEmpty());
+    }
+
+    @Test
+    public void testBestSelection() {
+        final Board board = Board.createStandardBoard();
+        final ImmutableList<OpeningBook.BookMove> bookMoves = this.book.getBookMoves(board);
+        assertFalse(bookMoves.isEmpty());
+        final int bestWeight = bookMoves.stream().mapToInt(OpeningBook.BookMove::weight).max().getAsInt();
+
+        final FallbackStrategy fallback = new FallbackStrategy();
+        final BookMoveStrategy strategy = new BookMoveStrategy(this.book, fallback, OpeningBook.Selection.BEST, new Random(1));
+        for (int i = 0; i < 10; i++) {
+            final Move move = strategy.execute(board);
+            assertTrue(strategy.isLastMoveFromBook());
+            assertEquals(bestWeight, expectedWeight(board.getZobristHash(), move));
+        }
+        assertEquals(0, fallback.calls);
+    }
+
+    @Test
+    public void testWeightedSelection() {
+        final Board board = Board.createStandardBoard();
+        final Map<String, Integer> weights = new HashMap<>();
+        for (final OpeningBook.BookMove bookMove : this.book.getBookMoves(board)) {
+            weights.put(describe(bookMove.move()), bookMove.weight());
+        }
+        final BookMoveStrategy strategy = new BookMoveStrategy(this.book, new FallbackStrategy(),
+                OpeningBook.Selection.WEIGHTED_RANDOM, new Random(7));
+        final Set<String> picked = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            final String move = describe(strategy.execute(board));
+            assertTrue(strategy.isLastMoveFromBook());
+            assertTrue(weights.get(move) > 0, move);
+            picked.add(move);
+        }
+        // every move with a weight turns up sooner or later, which BEST would never do
+        for (final Map.Entry<String, Integer> weight : weights.entrySet()) {
+            assertEquals(weight.getValue() > 0, picked.contains(weight.getKey()), weight.getKey());
+        }
+        assertTrue(picked.size() > 1);
+    }
+
+    @Test
+    public void testOutOfBook() {
+        final Board board = FenUtilities.createGameFromFEN("4k3/8/8/8/8/8/8/4K2R w K - 0 1");
+        final FallbackStrategy fallback = new FallbackStrategy();
+        final BookMoveStrategy strategy = new BookMoveStrategy(this.book, fallback, OpeningBook.Selection.BEST, new Random(1));
+        final Move move = strategy.execute(board);
+        assertSame(fallback.reply, move);
+        assertFalse(strategy.isLastMoveFromBook());
+        assertEquals(1, fallback.calls);
+    }
+
+    private void record(final ReplayedGame game) {
+        final String outcome = game.getGame().getOutcome();
+        if (!outcome.equals("1-0") && !outcome.equals("0-1") && !outcome.equals("1/2-1/2")) {
+            return;
+        }
+        final List<Move> moves = game.getMoves();
+        for (int ply = 0; ply < Math.min(MAX_PLY, moves.size()); ply++) {
+            final Move move = moves.get(ply);
+            final Alliance mover = move.getMovedPiece().getPieceAlliance();
+            final int result = outcome.equals("1/2-1/2") ? 1 : outcome.equals(mover.isWhite() ? "1-0" : "0-1") ? 0 : 2;
+            this.results.computeIfAbsent(game.getPositionHash(ply) + " " + describe(move), key -> new int[3])[result] += 2;
+        }
+    }
+
+    // two points a win and one a draw, through the book's score in 1/10000 as the file stores it
+    private int expectedWeight(final long hash, final Move move) {
+        final int[] result = this.results.get(hash + " " + describe(move));
+        assertNotNull(result, move.toString());
+        final int games = result[0] + result[1] + result[2];
+        final int score = (int) Math.round((result[0] + result[1] * 0.5) * SCORE_SCALE / games);
+        return (int) ((long) games * score * 2 / SCORE_SCALE);
+    }
+
+    private static String describe(final Move move) {
+        final Piece.PieceType promotion = move instanceof Move.PawnPromotionMove ?
+                ((Move.PawnPromotionMove) move).getPromotionType() : null;
+        return move.getCurrentCoordinate() + " " + move.getDestinationCoordinate() + " " + promotion;
+    }
+
+    private static File resource(final String name) throws IOException {
+        try {
+            return new File(Resources.getResource("com/chess/tests/pgn/" + name).toURI());
+        } catch (final URISyntaxException e) {
+            throw new IOException(e);
+        }
+    }
+
+    // stands in for the search once the position is out of book
+    private static final class FallbackStrategy implements MoveStrategy {
+
+        private Move reply;
+        private int calls;
+
+        @Override
+        public Move execute(final Board board) {
+            this.calls++;
+            this.reply = board.currentPlayer().getLegalMoves().iterator().next();
+            return this.reply;
+        }
+
+        @Override
+        public long getNumBoardsEvaluated() {
+            return 0;
+        }
+
+        @Override
+        public SearchStatistics.Snapshot getSearchStatistics() {
+            return SearchStatistics.Snapshot.EMPTY;
+        }
+
+    }
+
+}
@@ -1,126 +1,149 @@
 package com.chess.tests;
 
-import java.io.File;
-import java.io.IOException;
-import java.net.URL;
-import java.util.List;
-
-import org.junit.Test;
-
-import com.chess.pgn.MySqlGamePersistence;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+import com.chess.pgn.LocalGamePersistence;
+import com.chess.pgn.MoveStatistics;
+import com.chess.pgn.PGNGame;
+import com.chess.pgn.PGNIngestionPipeline;
+import com.chess.pgn.PGNReader;
 import com.chess.pgn.PGNUtilities;
 import com.chess.pgn.ParsePGNException;
-import com.chess.engine.classic.board.Board;
-import com.chess.engine.classic.board.Move;
-import com.chess.engine.classic.board.MoveTransition;
+import com.chess.pgn.ReplayedGame;
+import com.google.common.collect.ImmutableList;
 import com.google.common.io.Resources;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
-public class TestPGNParser {
-
-    @Test
-    public void test1() throws IOException {
-        doTest("com/chess/tests/pgn/t1.pgn");
-    }
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.List;
 
-    @Test
-    public void test2() throws IOException {
-        doTest("com/chess/tests/pgn/t2.pgn");
-    }
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
-    @Test
-    public void test3() throws IOException {
-        doTest("com/chess/tests/pgn/t3.pgn");
-    }
+public class TestPGNParser {
 
-    @Test
-    public void test4() throws IOException {
-        doTest("com/chess/tests/pgn/t4.pgn");
-    }
+    @TempDir
+    File tempDirectory;
 
     @Test
-    public void test5() throws IOException {
-        doTest("com/chess/tests/pgn/smallerTest.pgn");
+    public void test1() throws Exception {
+        doTest("t1.pgn", 63, "1-0");
     }
 
     @Test
-    public void test6() throws IOException {
-        doTest("com/chess/tests/pgn/t6.pgn");
+    public void test2() throws Exception {
+        doTest("t2.pgn", 83, "0-1");
     }
 
     @Test
-    public void test8() throws IOException {
-        doTest("com/chess/tests/pgn/t8.pgn");
+    public void test3() throws Exception {
+        doTest("t3.pgn", 64, "0-1");
     }
 
     @Test
-    public void test9() throws IOException {
-        doTest("com/chess/tests/pgn/t9.pgn");
+    public void test4() throws Exception {
+        doTest("t4.pgn", 28, "*");
     }
 
     @Test
-    public void testPawnPromotion() throws IOException {
-        doTest("com/chess/tests/pgn/queenPromotion.pgn");
+    public void test5() throws Exception {
+        doTest("t5.pgn", 89, "1-0");
     }
 
     @Test
-    public void test10() throws IOException {
-        doTest("com/chess/tests/pgn/t10.pgn");
+    public void test6() throws Exception {
+        doTest("t6.pgn", 0, "0-1");
     }
 
     @Test
-    public void test11() throws IOException {
-        doTest("com/chess/tests/pgn/bigTest.pgn");
+    public void test7() throws Exception {
+        doTest("t7.pgn", 119, "1/2-1/2");
     }
 
     @Test
-    public void test12() throws IOException {
-        doTest("com/chess/tests/pgn/twic1047.pgn");
+    public void test8() throws Exception {
+        doTest("t8.pgn", 84, "1/2-1/2");
     }
 
     @Test
-    public void test13() throws IOException {
-        doTest("com/chess/tests/pgn/twic1046.pgn");
+    public void test9() throws Exception {
+        doTest("t9.pgn", 76, "0-1");
     }
 
     @Test
-    public void test14() throws IOException {
-        doTest("com/chess/tests/pgn/combined.pgn");
+    public void test10() throws Exception {
+        doTest("t10.pgn", 116, "0-1");
     }
 
     @Test
-    public void test15() throws IOException {
-        doTest("com/chess/tests/pgn/c2012.pgn");
+    public void testPawnPromotion() throws Exception {
+        final ReplayedGame game = doTest("queenPromotion.pgn", 112, "0-1");
+        final int ply = game.getGame().getMoves().indexOf("c1=Q+");
+        final Move promotion = game.getMoves().get(ply);
+        assertTrue(promotion instanceof Move.PawnPromotionMove);
+        assertEquals(Piece.PieceType.QUEEN, ((Move.PawnPromotionMove) promotion).getPromotionType());
     }
 
     @Test
-    public void testMax() throws IOException {
-        int maxId = MySqlGamePersistence.get().getMaxGameRow();
-        System.out.println("max id = " +maxId);
+    public void testPersist() throws Exception {
+        try (final LocalGamePersistence persistence = new LocalGamePersistence(this.tempDirectory)) {
+            for (final String name : new String[] {"t1.pgn", "t2.pgn", "t3.pgn", "t4.pgn", "t5.pgn"}) {
+                final PGNIngestionPipeline.Report report = PGNUtilities.persistPGNFile(resource(name), persistence);
+                assertEquals(1, report.acceptedGames());
+                assertEquals(0, report.rejectedGames());
+            }
+            assertEquals(5, persistence.getGameCount());
+            final ImmutableList<MoveStatistics> statistics = persistence.getMoveStatistics(Board.createStandardBoard());
+            assertFalse(statistics.isEmpty());
+            // t4 is unfinished, so it is stored but left out of the statistics
+            assertEquals(4, statistics.stream().mapToInt(MoveStatistics::getGames).sum());
+        }
+        try (final LocalGamePersistence reopened = new LocalGamePersistence(this.tempDirectory)) {
+            assertEquals(5, reopened.getGameCount());
+            assertEquals(4, reopened.getMoveStatistics(Board.createStandardBoard()).stream()
+                    .mapToInt(MoveStatistics::getGames).sum());
+            assertEquals("GM Evgenij Miroshnichenko", reopened.getGame(0).getTag("White"));
+        }
     }
 
     @Test
     public void testParens() throws ParsePGNException {
-
         final String gameText = "(+)-(-) (+)-(-) 1. e4 e6";
         final List<String> moves = PGNUtilities.processMoveText(gameText);
-        assert(moves.size() == 2);
-
+        assertEquals(ImmutableList.of("e4", "e6"), moves);
     }
 
     @Test
-    public void testWithErol() throws IOException {
-        final Board board = Board.createStandardBoard();
-        final Move move = MySqlGamePersistence.get().getNextBestMove(board, board.currentPlayer(), "");
-        final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-        final Move move2 = MySqlGamePersistence.get()
-                .getNextBestMove(moveTransition.getToBoard(),
-                        moveTransition.getToBoard().currentPlayer(), "e4");
-        System.out.println("move 2 = " +move2);
+    public void testMoveText() throws ParsePGNException {
+        final String gameText = "1.e4 {best by test} e5 2. Nf3 (2. f4 exf4) Nc6 $1 3.Bb5!? 0-0 1/2-1/2";
+        assertEquals(ImmutableList.of("e4", "e5", "Nf3", "Nc6", "Bb5", "O-O"), PGNUtilities.processMoveText(gameText));
     }
 
-    private static void doTest(final String testFilePath) throws IOException {
-        final URL url = Resources.getResource(testFilePath);
-        final File testPGNFile = new File(url.getFile());
-        PGNUtilities.persistPGNFile(testPGNFile);
+    private static ReplayedGame doTest(final String name, final int plies, final String outcome) throws Exception {
+        try (final PGNReader reader = PGNUtilities.openPGNFile(resource(name))) {
+            assertTrue(reader.hasNext());
+            final PGNGame game = reader.next();
+            assertFalse(reader.hasNext());
+            assertEquals(0, reader.getSkippedGames());
+            assertEquals(outcome, game.getOutcome());
+            assertEquals(outcome, game.getTag("Result"));
+            final ReplayedGame replayedGame = ReplayedGame.replay(game);
+            assertEquals(plies, replayedGame.getMoves().size());
+            return replayedGame;
+        }
     }
+
+    private static File resource(final String name) throws IOException {
+        try {
+            return new File(Resources.getResource("com/chess/tests/pgn/" + name).toURI());
+        } catch (final URISyntaxException e) {
+            throw new IOException(e);
+        }
+    }
+
 }
@@ -0,0 +1,77 @@
+package com.chess.tests;
+
+import com.chess.pgn.PGNGame;
+import com.chess.pgn.PGNReader;
+import com.google.common.io.FileWriteMode;
+import com.google.common.io.Files;
+import com.google.common.io.Resources;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TestPGNReader {
+
+    private static final String[] FILES = {
+            "t1.pgn", "t2.pgn", "t3.pgn", "t4.pgn", "t5.pgn", "t6.pgn", "t7.pgn", "t8.pgn", "t9.pgn", "t10.pgn",
+            "queenPromotion.pgn"
+    };
+
+    @TempDir
+    File tempDirectory;
+
+    @Test
+    public void testSlidingWindow() throws IOException {
+        final File file = concatenate();
+        final List<PGNGame> expected = readAll(new PGNReader(file));
+        assertEquals(FILES.length, expected.size());
+        // the largest bundled game is under 2kB, so these windows remap several times across the file
+        for (final long windowSize : new long[] {2048, 3000, 4096}) {
+            final List<PGNGame> games = readAll(new PGNReader(file, windowSize));
+            assertEquals(expected.size(), games.size());
+            for (int i = 0; i < games.size(); i++) {
+                assertEquals(expected.get(i).getOffset(), games.get(i).getOffset());
+                assertEquals(expected.get(i).getTags(), games.get(i).getTags());
+                assertEquals(expected.get(i).getMoves(), games.get(i).getMoves());
+                assertEquals(expected.get(i).getOutcome(), games.get(i).getOutcome());
+            }
+        }
+    }
+
+    @Test
+    public void testWindowSmallerThanGame() throws IOException {
+        final File file = concatenate();
+        try (final PGNReader reader = new PGNReader(file, 256)) {
+            assertThrows(IllegalStateException.class, reader::hasNext);
+        }
+    }
+
+    private File concatenate() throws IOException {
+        final File file = new File(this.tempDirectory, "all.pgn");
+        for (final String name : FILES) {
+            Files.asByteSink(file, FileWriteMode.APPEND)
+                    .write(Resources.toByteArray(Resources.getResource("com/chess/tests/pgn/" + name)));
+            Files.asCharSink(file, StandardCharsets.US_ASCII, FileWriteMode.APPEND).write("\n\n");
+        }
+        return file;
+    }
+
+    private static List<PGNGame> readAll(final PGNReader reader) throws IOException {
+        final List<PGNGame> games = new ArrayList<>();
+        try (reader) {
+            while (reader.hasNext()) {
+                games.add(reader.next());
+            }
+            assertEquals(0, reader.getSkippedGames());
+        }
+        return games;
+    }
+
+}
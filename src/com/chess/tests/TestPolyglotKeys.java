@@ -0,0 +1,122 @@
+package com.chess.tests;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.pgn.FenUtilities;
+import com.chess.pgn.PolyglotKeys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestPolyglotKeys {
+
+    private static final int BLACK_PAWN = 0;
+    private static final int WHITE_PAWN = 1;
+    private static final int WHITE_ROOK = 7;
+    private static final int BLACK_KING = 10;
+    private static final int WHITE_KING = 11;
+
+    private static final int WHITE_SHORT = 768;
+    private static final int WHITE_LONG = 769;
+    private static final int BLACK_SHORT = 770;
+    private static final int BLACK_LONG = 771;
+    private static final int EN_PASSANT = 772;
+    private static final int TURN = 780;
+
+    @TempDir
+    File tempDirectory;
+
+    // seeded stand-ins for Random64, so each key can be checked term by term against the format description
+    private final long[] randoms = new SplittableRandom(781).longs(781).toArray();
+    private final PolyglotKeys keys = new PolyglotKeys(this.randoms);
+
+    @Test
+    public void testSquares() {
+        assertEquals(0, PolyglotKeys.square(BoardUtils.getAlgebraicCoordinateAtChessPosition("a1")));
+        assertEquals(7, PolyglotKeys.square(BoardUtils.getAlgebraicCoordinateAtChessPosition("h1")));
+        assertEquals(28, PolyglotKeys.square(BoardUtils.getAlgebraicCoordinateAtChessPosition("e4")));
+        assertEquals(63, PolyglotKeys.square(BoardUtils.getAlgebraicCoordinateAtChessPosition("h8")));
+        for (int coordinate = 0; coordinate < BoardUtils.NUM_TILES; coordinate++) {
+            assertEquals(coordinate, PolyglotKeys.coordinate(PolyglotKeys.square(coordinate)));
+        }
+    }
+
+    @Test
+    public void testPawnMoves() {
+        final long start = key("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+        assertEquals(start, this.keys.getKey(Board.createStandardBoard()));
+
+        // no black pawn stands next to e4, so the en passant square is left out
+        final long e4 = key("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1");
+        assertEquals(start ^ piece(WHITE_PAWN, "e2") ^ piece(WHITE_PAWN, "e4") ^ random(TURN), e4);
+
+        final long d5 = key("rnbqkbnr/ppp1pppp/8/3p4/4P3/8/PPPP1PPP/RNBQKBNR w KQkq d6 0 2");
+        assertEquals(e4 ^ piece(BLACK_PAWN, "d7") ^ piece(BLACK_PAWN, "d5") ^ random(TURN), d5);
+
+        final long e5 = key("rnbqkbnr/ppp1pppp/8/3pP3/8/8/PPPP1PPP/RNBQKBNR b KQkq - 0 2");
+        assertEquals(d5 ^ piece(WHITE_PAWN, "e4") ^ piece(WHITE_PAWN, "e5") ^ random(TURN), e5);
+
+        // the e5 pawn can take f5 in passing, so the f file is hashed in
+        final long f5 = key("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3");
+        assertEquals(e5 ^ piece(BLACK_PAWN, "f7") ^ piece(BLACK_PAWN, "f5") ^ random(TURN) ^ random(EN_PASSANT + 5), f5);
+    }
+
+    @Test
+    public void testCastlingRights() {
+        final long f5 = key("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3");
+        final long ke2 = key("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPPKPPP/RNBQ1BNR b kq - 0 3");
+        assertEquals(f5 ^ piece(WHITE_KING, "e1") ^ piece(WHITE_KING, "e2") ^ random(WHITE_SHORT) ^ random(WHITE_LONG) ^
+                random(EN_PASSANT + 5) ^ random(TURN), ke2);
+
+        final long kf7 = key("rnbq1bnr/ppp1pkpp/8/3pPp2/8/8/PPPPKPPP/RNBQ1BNR w - - 0 4");
+        assertEquals(ke2 ^ piece(BLACK_KING, "e8") ^ piece(BLACK_KING, "f7") ^ random(BLACK_SHORT) ^ random(BLACK_LONG) ^
+                random(TURN), kf7);
+    }
+
+    @Test
+    public void testEnPassantCapture() {
+        final long c4 = key("rnbqkbnr/p1pppppp/8/8/PpP4P/8/1P1PPPP1/RNBQKBNR b KQkq c3 0 3");
+        final long bxc3 = key("rnbqkbnr/p1pppppp/8/8/P6P/2p5/1P1PPPP1/RNBQKBNR w KQkq - 0 4");
+        assertEquals(c4 ^ random(EN_PASSANT + 2) ^ piece(BLACK_PAWN, "b4") ^ piece(BLACK_PAWN, "c3") ^
+                piece(WHITE_PAWN, "c4") ^ random(TURN), bxc3);
+
+        final long ra3 = key("rnbqkbnr/p1pppppp/8/8/P6P/R1p5/1P1PPPP1/1NBQKBNR b Kkq - 0 4");
+        assertEquals(bxc3 ^ piece(WHITE_ROOK, "a1") ^ piece(WHITE_ROOK, "a3") ^ random(WHITE_LONG) ^ random(TURN), ra3);
+    }
+
+    @Test
+    public void testLoadRejectsOtherConstants() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(this.randoms.length * Long.BYTES);
+        buffer.asLongBuffer().put(this.randoms);
+        final File binary = new File(this.tempDirectory, "randoms.bin");
+        Files.write(binary.toPath(), buffer.array());
+        final IOException e = assertThrows(IOException.class, () -> PolyglotKeys.load(binary));
+        assertTrue(e.getMessage().contains("Random64"), e.getMessage());
+
+        final File text = new File(this.tempDirectory, "randoms.txt");
+        Files.write(text.toPath(), "0x9D39247E33776D41, 0x2AF7398005AAA5C7".getBytes());
+        assertThrows(IOException.class, () -> PolyglotKeys.load(text));
+    }
+
+    private long key(final String fen) {
+        return this.keys.getKey(FenUtilities.createGameFromFEN(fen));
+    }
+
+    private long piece(final int kind, final String square) {
+        return random(64 * kind + PolyglotKeys.square(BoardUtils.getAlgebraicCoordinateAtChessPosition(square)));
+    }
+
+    private long random(final int index) {
+        return this.randoms[index];
+    }
+
+}
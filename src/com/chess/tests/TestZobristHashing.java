@@ -0,0 +1,61 @@
+package com.chess.tests;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.MoveTransition;
+import com.chess.pgn.FenUtilities;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestZobristHashing {
+
+    @Test
+    public void testTranspositionAfterDoublePush() {
+        final Board first = play("e4", "e6", "d4");
+        final Board second = play("d4", "e6", "e4");
+        assertEquals(FenUtilities.createFENFromGame(first).split(" ")[0], FenUtilities.createFENFromGame(second).split(" ")[0]);
+        assertEquals(first.getZobristHash(), second.getZobristHash());
+        assertEquals(first.getZobristHash(), hash("rnbqkbnr/pppp1ppp/4p3/8/3PP3/8/PPP2PPP/RNBQKBNR b KQkq - 0 2"));
+    }
+
+    @Test
+    public void testUnanswerableJump() {
+        final Board board = play("e4");
+        assertFalse(board.canCaptureEnPassant());
+        assertEquals(hash("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1"), board.getZobristHash());
+    }
+
+    @Test
+    public void testCapturableJump() {
+        final Board board = play("e4", "d5", "e5", "f5");
+        assertTrue(board.canCaptureEnPassant());
+        assertEquals(hash("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3"), board.getZobristHash());
+        assertNotEquals(hash("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq - 0 3"), board.getZobristHash());
+    }
+
+    @Test
+    public void testSideToMoveAndCastling() {
+        assertNotEquals(hash("4k3/8/8/8/8/8/8/4K2R w K - 0 1"), hash("4k3/8/8/8/8/8/8/4K2R b K - 0 1"));
+        assertNotEquals(hash("4k3/8/8/8/8/8/8/4K2R w K - 0 1"), hash("4k3/8/8/8/8/8/8/4K2R w - - 0 1"));
+    }
+
+    private static long hash(final String fen) {
+        return FenUtilities.createGameFromFEN(fen).getZobristHash();
+    }
+
+    private static Board play(final String... moves) {
+        Board board = Board.createStandardBoard();
+        for (final String san : moves) {
+            final Move move = Move.MoveFactory.createMove(board, san);
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            assertTrue(transition.getMoveStatus().isDone(), san);
+            board = transition.getTransitionBoard();
+        }
+        return board;
+    }
+
+}